@@ -0,0 +1,43 @@
+package io.github.lucasmbc.ecommerceapi.benchmarks;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.mapper.CartItemMapper;
+import io.github.lucasmbc.ecommerceapi.controller.mapper.OrderMapper;
+import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
+import io.github.lucasmbc.ecommerceapi.domain.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int lines;
+
+    private List<CartItem> cartItems;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        cartItems = Fixtures.cartItems(lines);
+        order = Fixtures.order(cartItems);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderToDetailResponse() {
+        return OrderMapper.toDetailResponse(order);
+    }
+
+    @Benchmark
+    public List<CartItemResponseDTO> cartItemsToResponse() {
+        return cartItems.stream().map(CartItemMapper::toResponse).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.lucasmbc.ecommerceapi.benchmarks;
+
+import io.github.lucasmbc.ecommerceapi.controller.exception.GlobalExceptionHandler;
+import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
+import io.github.lucasmbc.ecommerceapi.service.exception.InsufficientStockException;
+import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.exception.StockShortage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the error responses built by {@link GlobalExceptionHandler}; every handler goes through
+ * its private {@code buildResponse}, so the public handlers are benchmarked directly. Exceptions
+ * are created once in setup, the cost of filling in stack traces is not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int lines;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private NotFoundException notFoundException;
+    private InsufficientStockException insufficientStockException;
+
+    @Setup
+    public void setUp() {
+        notFoundException = new NotFoundException("Product not found");
+        List<StockShortage> shortages = Fixtures.cartItems(lines).stream()
+                .map(CartItem::getProduct)
+                .map(product -> new StockShortage(product.getId(), product.getName(), 2, 1))
+                .toList();
+        insufficientStockException = new InsufficientStockException(shortages);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> notFound() {
+        return handler.handleNotFoundException(notFoundException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> insufficientStock() {
+        return handler.handleInsufficientStockException(insufficientStockException);
+    }
+}
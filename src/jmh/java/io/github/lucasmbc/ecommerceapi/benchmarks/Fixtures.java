@@ -0,0 +1,68 @@
+package io.github.lucasmbc.ecommerceapi.benchmarks;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static Category category() {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Electronics");
+        return category;
+    }
+
+    static Product product(int index, Category category) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Product " + index);
+        product.setDescription("Description of product " + index);
+        product.setPrice(new BigDecimal("19.90").add(BigDecimal.valueOf(index)));
+        product.setStock(100);
+        product.setImageUrl("https://example.com/products/" + index + ".png");
+        product.setCategory(category);
+        return product;
+    }
+
+    static List<CartItem> cartItems(int lines) {
+        Category category = category();
+        List<CartItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = product(i, category);
+            CartItem item = new CartItem();
+            item.setId(UUID.randomUUID());
+            item.setProduct(product);
+            item.setQuantity(1 + i % 5);
+            item.setUnitPrice(product.getPrice());
+            items.add(item);
+        }
+        return items;
+    }
+
+    static Order order(List<CartItem> cartItems) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+
+        List<OrderItem> items = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            OrderItem item = new OrderItem();
+            item.setId(UUID.randomUUID());
+            item.setOrder(order);
+            item.setProduct(cartItem.getProduct());
+            item.setQuantity(cartItem.getQuantity());
+            item.setUnitPrice(cartItem.getUnitPrice());
+            items.add(item);
+        }
+        order.setItems(items);
+        return order;
+    }
+}
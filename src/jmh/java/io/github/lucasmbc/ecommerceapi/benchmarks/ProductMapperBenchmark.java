@@ -0,0 +1,29 @@
+package io.github.lucasmbc.ecommerceapi.benchmarks;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
+import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(1, Fixtures.category());
+    }
+
+    @Benchmark
+    public ProductResponseDTO toResponse() {
+        return ProductMapper.toResponse(product);
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package so it can call the package-private OrderService.calculateTotal.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int lines;
+
+    private List<OrderItem> items;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem();
+            item.setQuantity(1 + i % 5);
+            item.setUnitPrice(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return OrderService.calculateTotal(items);
+    }
+}
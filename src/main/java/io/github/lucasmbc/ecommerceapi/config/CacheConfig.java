@@ -0,0 +1,17 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Cache advice wraps the transaction, so @CacheEvict runs after commit and a concurrent read cannot cache the old row again.
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+
+    // Hibernate second-level cache regions, configured in application.conf.
+    public static final String CATEGORY_REGION = "category";
+    public static final String CATEGORY_QUERY_REGION = "category-queries";
+}
@@ -0,0 +1,49 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import io.github.lucasmbc.ecommerceapi.service.cart.CartStore;
+import io.github.lucasmbc.ecommerceapi.service.cart.InMemoryCartStore;
+import io.github.lucasmbc.ecommerceapi.service.cart.RedisCartStore;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class CartStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.type", havingValue = "memory", matchIfMissing = true)
+    public CartStore inMemoryCartStore(@Value("${cart.store.ttl:7d}") Duration ttl,
+                                       @Value("${cart.store.max-carts:1000000}") long maxCarts) {
+        return new InMemoryCartStore(ttl, maxCarts);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+    public LettuceConnectionFactory cartStoreConnectionFactory(@Value("${cart.store.redis.host:localhost}") String host,
+                                                               @Value("${cart.store.redis.port:6379}") int port) {
+        return redisConnectionFactory(host, port);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.store.type", havingValue = "redis")
+    public CartStore redisCartStore(LettuceConnectionFactory cartStoreConnectionFactory,
+                                    @Value("${cart.store.ttl:7d}") Duration ttl) {
+        return new RedisCartStore(new StringRedisTemplate(cartStoreConnectionFactory), ttl);
+    }
+
+    public static LettuceConnectionFactory redisConnectionFactory(String host, int port) {
+        var clientConfiguration = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build())
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port), clientConfiguration);
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Where the catalog export takes its connections from. Deliberately not a {@link DataSource} bean,
+ * so it never competes with the application's own DataSource.
+ */
+public class ExportDataSource implements AutoCloseable {
+
+    private final DataSource dataSource;
+    private final boolean owned;
+
+    public ExportDataSource(DataSource dataSource, boolean owned) {
+        this.dataSource = dataSource;
+        this.owned = owned;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        // A borrowed application DataSource is closed by its own bean, not here.
+        if (owned && dataSource instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+}
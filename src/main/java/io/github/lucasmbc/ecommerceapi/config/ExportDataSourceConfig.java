@@ -0,0 +1,41 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Connections for the catalog export. With {@code catalog.export.datasource.url} set, the export gets
+ * its own small read-only pool, so that URL can turn on MySQL server-side cursors
+ * ({@code useCursorFetch=true}) without changing how the rest of the application prepares and
+ * batches statements. Without it the export borrows connections from the application DataSource.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExportDataSource exportDataSource(DataSource dataSource,
+                                             @Value("${catalog.export.datasource.url:}") String url,
+                                             @Value("${catalog.export.datasource.username:${spring.datasource.username:}}") String username,
+                                             @Value("${catalog.export.datasource.password:${spring.datasource.password:}}") String password,
+                                             @Value("${spring.datasource.driver-class-name:}") String driverClassName,
+                                             @Value("${catalog.export.datasource.pool-size:2}") int poolSize) {
+        if (url.isEmpty()) {
+            return new ExportDataSource(dataSource, false);
+        }
+        HikariDataSource export = new HikariDataSource();
+        export.setPoolName("export");
+        export.setJdbcUrl(url);
+        export.setUsername(username);
+        export.setPassword(password);
+        export.setMaximumPoolSize(poolSize);
+        export.setReadOnly(true);
+        if (!driverClassName.isEmpty()) {
+            export.setDriverClassName(driverClassName);
+        }
+        return new ExportDataSource(export, true);
+    }
+}
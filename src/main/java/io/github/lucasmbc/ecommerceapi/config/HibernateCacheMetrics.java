@@ -0,0 +1,70 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes hits, misses, puts and the hit ratio of every Hibernate second-level cache region,
+ * tagged by region, e.g. {@code /actuator/metrics/hibernate.cache.region.hit.ratio?tag=region:category}.
+ * <p>
+ * Hibernate only counts while statistics are on, so the meters are registered only then, e.g. with
+ * the {@code metrics} profile; otherwise they would report zeros that look like a cold cache.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Set<String> regions = new TreeSet<>(Set.of(statistics.getSecondLevelCacheRegionNames()));
+        regions.add(CacheConfig.CATEGORY_QUERY_REGION);
+
+        for (String region : regions) {
+            counter(registry, "hibernate.cache.region.hits", region, statistics, CacheRegionStatistics::getHitCount);
+            counter(registry, "hibernate.cache.region.misses", region, statistics, CacheRegionStatistics::getMissCount);
+            counter(registry, "hibernate.cache.region.puts", region, statistics, CacheRegionStatistics::getPutCount);
+            Gauge.builder("hibernate.cache.region.hit.ratio", statistics, stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups answered by the region")
+                    .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String name, String region, Statistics statistics,
+                                ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, statistics, stats -> {
+                    CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+                    return regionStatistics == null ? 0 : value.applyAsDouble(regionStatistics);
+                })
+                .tag("region", region)
+                .register(registry);
+    }
+
+    static double hitRatio(CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / lookups;
+    }
+}
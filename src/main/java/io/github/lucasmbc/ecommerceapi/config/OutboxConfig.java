@@ -0,0 +1,25 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import io.github.lucasmbc.ecommerceapi.service.outbox.InMemoryOutboxSink;
+import io.github.lucasmbc.ecommerceapi.service.outbox.LoggingOutboxSink;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.type", havingValue = "log", matchIfMissing = true)
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.type", havingValue = "memory")
+    public OutboxSink inMemoryOutboxSink(@Value("${outbox.sink.memory.capacity:10000}") int capacity) {
+        return new InMemoryOutboxSink(capacity);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import io.github.lucasmbc.ecommerceapi.service.payment.FaultInjectingPaymentGateway;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGateway;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGatewayGuard;
+import io.github.lucasmbc.ecommerceapi.service.payment.SimulatedPaymentGateway;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PaymentConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.gateway.type", havingValue = "simulated", matchIfMissing = true)
+    public PaymentGateway simulatedPaymentGateway(@Value("${payment.gateway.simulated.min-latency:1s}") Duration minLatency,
+                                                  @Value("${payment.gateway.simulated.max-latency:3s}") Duration maxLatency,
+                                                  @Value("${payment.gateway.simulated.approval-limit:10000}") BigDecimal approvalLimit) {
+        return new SimulatedPaymentGateway(minLatency, maxLatency, approvalLimit);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "payment.gateway.type", havingValue = "fault-injecting")
+    public PaymentGateway faultInjectingPaymentGateway(@Value("${payment.gateway.simulated.min-latency:1s}") Duration minLatency,
+                                                       @Value("${payment.gateway.simulated.max-latency:3s}") Duration maxLatency,
+                                                       @Value("${payment.gateway.simulated.approval-limit:10000}") BigDecimal approvalLimit,
+                                                       @Value("${payment.gateway.faults.error-rate:0.2}") double errorRate,
+                                                       @Value("${payment.gateway.faults.slow-rate:0.1}") double slowRate,
+                                                       @Value("${payment.gateway.faults.slow-latency:30s}") Duration slowLatency) {
+        return new FaultInjectingPaymentGateway(new SimulatedPaymentGateway(minLatency, maxLatency, approvalLimit),
+                errorRate, slowRate, slowLatency);
+    }
+
+    @Bean
+    public PaymentGatewayGuard paymentGatewayGuard(PaymentGateway paymentGateway,
+                                                   @Value("${payment.gateway.resilience.timeout:5s}") Duration timeout,
+                                                   @Value("${payment.gateway.resilience.max-concurrent-calls:16}") int maxConcurrentCalls,
+                                                   @Value("${payment.gateway.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+                                                   @Value("${payment.gateway.resilience.sliding-window-size:20}") int slidingWindowSize,
+                                                   @Value("${payment.gateway.resilience.minimum-calls:10}") int minimumCalls,
+                                                   @Value("${payment.gateway.resilience.open-duration:30s}") Duration openDuration) {
+        return createPaymentGatewayGuard(paymentGateway, timeout, maxConcurrentCalls, failureRateThreshold,
+                slidingWindowSize, minimumCalls, openDuration);
+    }
+
+    public static PaymentGatewayGuard createPaymentGatewayGuard(PaymentGateway paymentGateway, Duration timeout, int maxConcurrentCalls,
+                                                                float failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                                                                Duration openDuration) {
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("paymentGateway", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(Math.max(1, minimumCalls / 2))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // A full bulkhead means we are protecting the acquirer, not that it failed.
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("paymentGateway", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TimeLimiter timeLimiter = TimeLimiter.of("paymentGateway", TimeLimiterConfig.custom()
+                .timeoutDuration(timeout)
+                .cancelRunningFuture(true)
+                .build());
+        return new PaymentGatewayGuard(paymentGateway, circuitBreaker, bulkhead, timeLimiter,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-gateway-", 0).factory()));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor paymentExecutor(@Value("${payment.processing.workers:16}") int workers,
+                                              @Value("${payment.processing.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("payment-worker-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
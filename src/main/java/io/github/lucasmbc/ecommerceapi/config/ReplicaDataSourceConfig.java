@@ -0,0 +1,77 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the read replicas and everything else to the
+ * primary. The lazy proxy only fetches a physical connection at the first statement, once the
+ * transaction has marked it read-only, and then takes it from the replica pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    // Built like Boot's own pool so every spring.datasource.hikari.* setting still applies to the primary.
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPoolDataSource replicaPoolDataSource(HikariDataSource primaryDataSource,
+                                                       @Value("${datasource.replicas.urls}") List<String> urls,
+                                                       @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                                       @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+                                                       @Value("${datasource.replicas.pool-size:10}") int poolSize) {
+        List<ReplicaPoolDataSource.Replica> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.add(new ReplicaPoolDataSource.Replica(name, pool(name, urls.get(i), username, password, poolSize)));
+        }
+        return new ReplicaPoolDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPoolDataSource replicaPoolDataSource) {
+        return routingDataSource(primaryDataSource, replicaPoolDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaPoolDataSource replicaPoolDataSource,
+                                                     @Value("${datasource.replicas.max-lag:PT5S}") Duration maxLag) {
+        return new ReplicaHealthMonitor(replicaPoolDataSource, maxLag);
+    }
+
+    public static LazyConnectionDataSourceProxy routingDataSource(DataSource primary, DataSource readOnly) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(readOnly);
+        return routing;
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password, int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(poolSize);
+        return dataSource;
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replication lag with a heartbeat row: every check stamps the current time on the primary
+ * and reads the stamp each replica has applied. A replica that cannot be queried, or whose stamp is
+ * older than {@code max-lag}, stops receiving reads until a later check finds it caught up. The stamp
+ * is read before it is refreshed, so the measured lag includes up to one check interval.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+    static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+
+    private final ReplicaPoolDataSource pool;
+    private final Duration maxLag;
+
+    public ReplicaHealthMonitor(ReplicaPoolDataSource pool, Duration maxLag) {
+        this.pool = pool;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT1S}")
+    public void check() {
+        Instant now = Instant.now();
+        for (ReplicaPoolDataSource.Replica replica : pool.getReplicas()) {
+            probe(replica, now);
+        }
+        writeHeartbeat(now);
+    }
+
+    private void probe(ReplicaPoolDataSource.Replica replica, Instant now) {
+        boolean wasHealthy = replica.isHealthy();
+        try (Connection connection = replica.getDataSource().getConnection();
+             PreparedStatement statement = connection.prepareStatement(READ_HEARTBEAT)) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    replica.update(false, null);
+                } else {
+                    Duration lag = Duration.between(resultSet.getTimestamp(1).toInstant(), now);
+                    lag = lag.isNegative() ? Duration.ZERO : lag;
+                    replica.update(lag.compareTo(maxLag) <= 0, lag);
+                }
+            }
+        } catch (SQLException ex) {
+            replica.update(false, null);
+            if (wasHealthy) {
+                log.warn("Replica {} failed its health check: {}", replica.getName(), ex.getMessage());
+            }
+            return;
+        }
+        if (wasHealthy != replica.isHealthy()) {
+            log.info("Replica {} is now {} (lag {})", replica.getName(), replica.isHealthy() ? "in rotation" : "out of rotation", replica.getLag());
+        }
+    }
+
+    private void writeHeartbeat(Instant now) {
+        try (Connection connection = pool.getPrimary().getConnection();
+             PreparedStatement statement = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            statement.setTimestamp(1, Timestamp.from(now));
+            statement.executeUpdate();
+        } catch (SQLException ex) {
+            log.warn("Could not write the replication heartbeat: {}", ex.getMessage());
+        }
+    }
+}
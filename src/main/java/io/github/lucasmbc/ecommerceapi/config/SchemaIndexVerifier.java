@@ -0,0 +1,129 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Fails startup when the database lacks an index that the entity mappings rely on: every declared
+ * {@link Index} and {@link UniqueConstraint}, every unique column and every foreign key column used by a
+ * {@code @ManyToOne} or {@code @OneToOne}. An index counts when the required columns are a prefix of it,
+ * so a migration that drops or reorders an index is caught before queries start scanning tables.
+ */
+@Component
+@ConditionalOnProperty(name = "schema.index-verification.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    public SchemaIndexVerifier(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> missing = findMissingIndexes();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Entity queries would run without a supporting index on " + String.join(", ", missing));
+        }
+    }
+
+    public List<String> findMissingIndexes() {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, Set<List<String>>> table : requiredIndexes().entrySet()) {
+                List<List<String>> existing = existingIndexes(connection, metaData, table.getKey());
+                for (List<String> columns : table.getValue()) {
+                    if (existing.stream().noneMatch(index -> startsWith(index, columns))) {
+                        missing.add(table.getKey() + "(" + String.join(", ", columns) + ")");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the database indexes", e);
+        }
+        return missing;
+    }
+
+    private Map<String, Set<List<String>>> requiredIndexes() {
+        Map<String, Set<List<String>>> required = new TreeMap<>();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            if (table == null || table.name().isEmpty()) {
+                continue;
+            }
+
+            Set<List<String>> columns = required.computeIfAbsent(table.name(), name -> new LinkedHashSet<>());
+            for (Index index : table.indexes()) {
+                columns.add(normalize(index.columnList().split(",")));
+            }
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                columns.add(normalize(constraint.columnNames()));
+            }
+            for (Field field : type.getDeclaredFields()) {
+                JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                boolean ownsAssociation = field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class);
+                if (joinColumn != null && ownsAssociation) {
+                    columns.add(normalize(joinColumn.name()));
+                }
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && column.unique()) {
+                    columns.add(normalize(column.name().isEmpty() ? field.getName().replaceAll("([a-z])([A-Z])", "$1_$2") : column.name()));
+                }
+            }
+        }
+        return required;
+    }
+
+    private static List<List<String>> existingIndexes(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, Map<Short, String>> indexes = new TreeMap<>();
+        try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, false)) {
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("INDEX_NAME");
+                String columnName = resultSet.getString("COLUMN_NAME");
+                if (indexName != null && columnName != null) {
+                    indexes.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes.values().stream().map(positions -> List.copyOf(positions.values())).toList();
+    }
+
+    private static boolean startsWith(List<String> index, List<String> columns) {
+        return index.size() >= columns.size() && index.subList(0, columns.size()).equals(columns);
+    }
+
+    private static List<String> normalize(String... columns) {
+        return Arrays.stream(columns).map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+}
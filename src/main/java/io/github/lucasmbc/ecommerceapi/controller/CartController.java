@@ -1,6 +1,8 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.request.AddToCartRequestDTO;
 import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartLineResultResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.CartItemMapper;
 import io.github.lucasmbc.ecommerceapi.service.CartService;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,11 @@ public class CartController {
         return ResponseEntity.created(location).build();
     }
 
+    @PostMapping("/{customerId}/items:batch")
+    public ResponseEntity<List<CartLineResultResponseDTO>> addItems(@PathVariable String customerId, @RequestBody List<AddToCartRequestDTO> items) {
+        return ResponseEntity.ok(cartService.addItems(UUID.fromString(customerId), items));
+    }
+
     @GetMapping("/{customerId}")
     public List<CartItemResponseDTO> getCart(@PathVariable String customerId) {
         return cartService.getItems(UUID.fromString(customerId))
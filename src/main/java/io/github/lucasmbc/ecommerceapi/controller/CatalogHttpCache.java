@@ -0,0 +1,65 @@
+package io.github.lucasmbc.ecommerceapi.controller;
+
+import io.github.lucasmbc.ecommerceapi.service.CatalogVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Answers catalog reads conditionally. The ETag is taken from the shared {@link CatalogVersion}
+ * before the body is read, and a matching {@code If-None-Match} returns 304 without calling the
+ * service, mapping or serializing anything. {@code Cache-Control} lets browsers and the CDN reuse
+ * responses for {@code max-age} and revalidate them cheaply afterwards.
+ * <p>
+ * Stock changes on every checkout without moving the catalog version. A product's tag includes its
+ * stock; product pages include a time window instead, so the stock they show is at most
+ * {@code list-stock-refresh} old when they are revalidated.
+ */
+@Component
+public class CatalogHttpCache {
+
+    private final CatalogVersion catalogVersion;
+    private final CacheControl cacheControl;
+    private final long listStockRefreshMillis;
+
+    public CatalogHttpCache(CatalogVersion catalogVersion,
+                            @Value("${catalog.http-cache.max-age:PT1M}") Duration maxAge,
+                            @Value("${catalog.http-cache.stale-while-revalidate:PT30S}") Duration staleWhileRevalidate,
+                            @Value("${catalog.http-cache.list-stock-refresh:PT1M}") Duration listStockRefresh) {
+        this.catalogVersion = catalogVersion;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().staleWhileRevalidate(staleWhileRevalidate);
+        this.listStockRefreshMillis = listStockRefresh.toMillis();
+    }
+
+    /** For responses that show no stock, such as categories. */
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body) {
+        return respond(request, "\"catalog-" + catalogVersion.current() + "\"", body);
+    }
+
+    /** For pages of products, whose stock is refreshed once per {@code list-stock-refresh}. */
+    public <T> ResponseEntity<T> respondWithStock(WebRequest request, Supplier<T> body) {
+        long window = System.currentTimeMillis() / listStockRefreshMillis;
+        return respond(request, "\"catalog-" + catalogVersion.current() + "-" + window + "\"", body);
+    }
+
+    public <T> ResponseEntity<T> respondForProduct(WebRequest request, UUID productId, Supplier<T> body) {
+        return catalogVersion.forProduct(productId)
+                .map(version -> respond(request, "\"product-" + version + "\"", body))
+                // Unknown product: let the body report it.
+                .orElseGet(() -> ResponseEntity.ok(body.get()));
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+}
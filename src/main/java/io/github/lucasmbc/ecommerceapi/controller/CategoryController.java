@@ -7,6 +7,7 @@ import io.github.lucasmbc.ecommerceapi.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -18,9 +19,11 @@ import java.util.UUID;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogHttpCache catalogHttpCache;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogHttpCache catalogHttpCache) {
         this.categoryService = categoryService;
+        this.catalogHttpCache = catalogHttpCache;
     }
 
     @PostMapping
@@ -38,16 +41,14 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> findAll() {
-        var categories = categoryService.findAll();
-        var categoryResponseDto = categories.stream().map(CategoryMapper::toResponse).toList();
-        return ResponseEntity.ok(categoryResponseDto);
+    public ResponseEntity<List<CategoryResponseDTO>> findAll(WebRequest request) {
+        return catalogHttpCache.respond(request, () -> categoryService.findAll().stream().map(CategoryMapper::toResponse).toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponseDTO> findById(@PathVariable String id) {
-        var category = categoryService.findById(UUID.fromString(id));
-        return ResponseEntity.ok(CategoryMapper.toResponse(category));
+    public ResponseEntity<CategoryResponseDTO> findById(@PathVariable String id, WebRequest request) {
+        var idCategory = UUID.fromString(id);
+        return catalogHttpCache.respond(request, () -> CategoryMapper.toResponse(categoryService.findById(idCategory)));
     }
 
     @PutMapping("/{id}")
@@ -2,9 +2,13 @@ package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.CustomerRequestDTO;
 import io.github.lucasmbc.ecommerceapi.controller.dto.response.CustomerResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.CustomerMapper;
 import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
 import io.github.lucasmbc.ecommerceapi.service.CustomerService;
+import io.github.lucasmbc.ecommerceapi.service.OrderQueryService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,9 +23,11 @@ import java.util.UUID;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final OrderQueryService orderQueryService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, OrderQueryService orderQueryService) {
         this.customerService = customerService;
+        this.orderQueryService = orderQueryService;
     }
 
     @PostMapping
@@ -53,6 +59,14 @@ public class CustomerController {
         return ResponseEntity.ok(CustomerMapper.toResponse(customer));
     }
 
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<PageResponseDTO<OrderSummaryResponseDTO>> findOrders(@PathVariable String id,
+                                                                               @RequestParam(required = false) OrderStatus status,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderQueryService.findHistory(UUID.fromString(id), status, cursor, size));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<CustomerResponseDTO> update(@PathVariable String id, @RequestBody CustomerRequestDTO request) {
         var customer = customerService.update(UUID.fromString(id), CustomerMapper.toEntity(request));
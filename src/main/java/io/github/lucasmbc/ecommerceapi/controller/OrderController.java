@@ -1,16 +1,22 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.OrderMapper;
+import io.github.lucasmbc.ecommerceapi.service.IdempotencyService;
+import io.github.lucasmbc.ecommerceapi.service.OrderQueryService;
 import io.github.lucasmbc.ecommerceapi.service.OrderService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,21 +24,38 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final IdempotencyService idempotencyService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderQueryService orderQueryService, IdempotencyService idempotencyService) {
         this.orderService = orderService;
+        this.orderQueryService = orderQueryService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/{customerId}")
-    public ResponseEntity<OrderResponseDTO> createOrder(@PathVariable String customerId) {
-        var saved = orderService.checkout(UUID.fromString(customerId));
-        var orderResponseDTO = OrderMapper.toDetailResponse(saved);
+    public ResponseEntity<OrderResponseDTO> createOrder(@PathVariable String customerId,
+                                                        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /orders/" + customerId, OrderResponseDTO.class, () -> {
+            var saved = orderService.checkout(UUID.fromString(customerId));
+            var orderResponseDTO = OrderMapper.toDetailResponse(saved);
+
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(saved.getId())
+                    .toUri();
+
+            return ResponseEntity.created(location).body(orderResponseDTO);
+        });
+    }
 
-        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{id}")
-                .buildAndExpand(saved.getId())
-                .toUri();
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderResponseDTO> findById(@PathVariable String id) {
+        return ResponseEntity.ok(orderQueryService.findDetail(UUID.fromString(id)));
+    }
 
-        return ResponseEntity.created(location).body(orderResponseDTO);
+    @GetMapping("/{id}/items")
+    public ResponseEntity<List<OrderItemResponseDTO>> findItems(@PathVariable String id) {
+        return ResponseEntity.ok(orderQueryService.findItems(UUID.fromString(id)));
     }
 }
@@ -2,8 +2,8 @@ package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.response.PaymentResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.PaymentMapper;
-import io.github.lucasmbc.ecommerceapi.domain.model.Payment;
 import io.github.lucasmbc.ecommerceapi.domain.model.PaymentType;
+import io.github.lucasmbc.ecommerceapi.service.IdempotencyService;
 import io.github.lucasmbc.ecommerceapi.service.PaymentService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,21 +17,31 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, IdempotencyService idempotencyService) {
         this.paymentService = paymentService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/{orderId}")
-    public ResponseEntity<PaymentResponseDTO> pay(@PathVariable String orderId, @RequestParam PaymentType paymentType) {
-        var saved = paymentService.pay(UUID.fromString(orderId), paymentType);
-        var paymentResponseDTO = PaymentMapper.toResponse(saved);
-
-        URI location =  ServletUriComponentsBuilder.fromCurrentRequest()
-                .path("/{paymentId}")
-                .buildAndExpand(saved.getId())
-                .toUri();
+    public ResponseEntity<PaymentResponseDTO> pay(@PathVariable String orderId, @RequestParam PaymentType paymentType,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "POST /payments/" + orderId + "?paymentType=" + paymentType, PaymentResponseDTO.class, () -> {
+            var saved = paymentService.pay(UUID.fromString(orderId), paymentType);
+            var paymentResponseDTO = PaymentMapper.toResponse(saved);
+
+            URI statusLocation = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .build()
+                    .toUri();
+
+            return ResponseEntity.accepted().location(statusLocation).body(paymentResponseDTO);
+        });
+    }
 
-        return ResponseEntity.created(location).body(paymentResponseDTO);
+    @GetMapping("/{orderId}")
+    public ResponseEntity<PaymentResponseDTO> getPayment(@PathVariable String orderId) {
+        var payment = paymentService.findByOrderId(UUID.fromString(orderId));
+        return ResponseEntity.ok(PaymentMapper.toResponse(payment));
     }
 }
@@ -1,13 +1,20 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.ProductRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import io.github.lucasmbc.ecommerceapi.service.ProductExportService;
 import io.github.lucasmbc.ecommerceapi.service.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -19,9 +26,14 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final CatalogHttpCache catalogHttpCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             CatalogHttpCache catalogHttpCache) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.catalogHttpCache = catalogHttpCache;
     }
 
     @PostMapping
@@ -41,17 +53,42 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> findAll() {
-        List<Product> products = productService.findAll();
-        var productResponseDto = products.stream().map(ProductMapper::toResponse).toList();
-        return ResponseEntity.ok(productResponseDto);
+    public ResponseEntity<PageResponseDTO<ProductResponseDTO>> findAll(@RequestParam(required = false) String categoryId,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer size,
+                                                                       WebRequest request) {
+        var idCategory = categoryId == null ? null : UUID.fromString(categoryId);
+        return catalogHttpCache.respondWithStock(request, () -> productService.findAll(idCategory, cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductResponseDTO>> search(@RequestParam String q, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.search(q, size));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResponseDTO>> suggest(@RequestParam String prefix, @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.suggest(prefix, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> productExportService.export(out, gzip);
+
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> findById(@PathVariable String id) {
+    public ResponseEntity<ProductResponseDTO> findById(@PathVariable String id, WebRequest request) {
         var idProduct = UUID.fromString(id);
-        Product product = productService.findById(idProduct);
-        return ResponseEntity.ok(ProductMapper.toResponse(product));
+        return catalogHttpCache.respondForProduct(request, idProduct, () -> productService.findById(idProduct));
     }
 
     @PutMapping("/{id}")
@@ -65,4 +102,38 @@ public class ProductController {
         productService.delete(UUID.fromString(id));
         return ResponseEntity.noContent().build();
     }
+
+    // Honours q-values, so "gzip;q=0" refuses gzip; an explicit gzip entry takes precedence over "*".
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase("gzip")) {
+                gzip = quality(parts);
+            } else if (coding.equals("*")) {
+                any = quality(parts);
+            }
+        }
+        double quality = gzip != null ? gzip : any != null ? any : 0;
+        return quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
@@ -0,0 +1,10 @@
+package io.github.lucasmbc.ecommerceapi.controller.dto.response;
+
+import java.util.UUID;
+
+public record CartLineResultResponseDTO(
+        UUID productId,
+        Integer quantity,
+        String status,
+        String message
+) {}
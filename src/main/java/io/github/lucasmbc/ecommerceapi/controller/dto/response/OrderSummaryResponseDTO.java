@@ -0,0 +1,20 @@
+package io.github.lucasmbc.ecommerceapi.controller.dto.response;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderSummaryResponseDTO(
+        UUID id,
+        LocalDateTime orderDate,
+        String status,
+        BigDecimal total,
+        Long itemCount
+) {
+
+    public OrderSummaryResponseDTO(UUID id, LocalDateTime orderDate, OrderStatus status, BigDecimal total, Long itemCount) {
+        this(id, orderDate, status.name(), total, itemCount);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.lucasmbc.ecommerceapi.controller.dto.response;
+
+import java.util.List;
+
+public record PageResponseDTO<T>(
+        List<T> items,
+        String nextCursor
+) {}
@@ -0,0 +1,8 @@
+package io.github.lucasmbc.ecommerceapi.controller.dto.response;
+
+import java.util.UUID;
+
+public record ProductSuggestionResponseDTO(
+        UUID id,
+        String name
+) {}
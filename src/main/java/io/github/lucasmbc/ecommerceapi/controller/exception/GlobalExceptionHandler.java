@@ -1,6 +1,7 @@
 package io.github.lucasmbc.ecommerceapi.controller.exception;
 
 import io.github.lucasmbc.ecommerceapi.service.exception.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -24,6 +25,26 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.UNPROCESSABLE_CONTENT, "Business error", ex.getMessage());
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Map<String, Object>> handleInsufficientStockException(InsufficientStockException ex) {
+        var response = buildResponse(HttpStatus.CONFLICT, "Insufficient stock", ex.getMessage());
+        response.getBody().put("shortages", ex.getShortages());
+        return response;
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflictException(ConflictException ex) {
+        return buildResponse(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        var response = buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable", ex.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(CustomBadRequestException.class)
     public ResponseEntity<Map<String, Object>> handleCustomBadRequestException(CustomBadRequestException ex) {
         return buildResponse(HttpStatus.BAD_REQUEST, "Malformed JSON request", ex.getMessage());
@@ -1,17 +1,19 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cart")
+@Table(name = "cart", uniqueConstraints = @UniqueConstraint(name = "uk_cart_customer", columnNames = "customer_id"))
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Column(name = "created_at")
@@ -21,9 +23,13 @@ public class Cart {
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CartItem> items;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Cart() {
     }
 
@@ -58,4 +64,8 @@ public class Cart {
     public void setItems(List<CartItem> items) {
         this.items = items;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
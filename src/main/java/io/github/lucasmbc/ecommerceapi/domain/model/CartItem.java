@@ -1,16 +1,20 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cart_item")
+@Table(name = "cart_item",
+        uniqueConstraints = @UniqueConstraint(name = "uk_cart_item_cart_product", columnNames = {"cart_id", "product_id"}),
+        indexes = @Index(name = "idx_cart_item_product", columnList = "product_id"))
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -27,6 +31,10 @@ public class CartItem {
     @JoinColumn(name = "cart_id")
     private Cart cart;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public CartItem() {
     }
 
@@ -69,4 +77,8 @@ public class CartItem {
     public void setCart(Cart cart) {
         this.cart = cart;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
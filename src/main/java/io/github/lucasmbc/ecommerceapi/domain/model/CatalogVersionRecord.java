@@ -0,0 +1,32 @@
+package io.github.lucasmbc.ecommerceapi.domain.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersionRecord {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long version;
+
+    public CatalogVersionRecord() {
+    }
+
+    public CatalogVersionRecord(Integer id, long version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,16 +1,22 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 import java.util.UUID;
 
 @Entity
 @Table(name = "category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CATEGORY_REGION)
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, length = 100)
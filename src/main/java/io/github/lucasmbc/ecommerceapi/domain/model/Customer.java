@@ -1,5 +1,6 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
 
 import java.util.List;
@@ -10,7 +11,7 @@ import java.util.UUID;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
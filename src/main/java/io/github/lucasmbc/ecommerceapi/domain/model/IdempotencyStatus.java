@@ -0,0 +1,6 @@
+package io.github.lucasmbc.ecommerceapi.domain.model;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
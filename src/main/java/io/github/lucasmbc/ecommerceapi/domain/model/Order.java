@@ -1,5 +1,6 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -8,11 +9,15 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_date", columnList = "customer_id, order_date, id"),
+        @Index(name = "idx_orders_customer_status_date", columnList = "customer_id, status, order_date, id"),
+        @Index(name = "idx_orders_status", columnList = "status")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Column(name = "order_date")
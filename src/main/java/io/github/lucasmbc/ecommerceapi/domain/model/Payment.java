@@ -1,5 +1,6 @@
 package io.github.lucasmbc.ecommerceapi.domain.model;
 
+import io.github.lucasmbc.ecommerceapi.domain.model.id.GeneratedTimeOrderedUuid;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
@@ -7,11 +8,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payment")
+@Table(name = "payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_order", columnNames = "order_id"),
+        indexes = @Index(name = "idx_payment_status_date", columnList = "status, payment_date"))
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedTimeOrderedUuid
     private UUID id;
 
     @Enumerated(EnumType.STRING)
@@ -28,6 +31,9 @@ public class Payment {
     @Column(nullable = false)
     private BigDecimal amount;
 
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
     @OneToOne
     @JoinColumn(name = "order_id")
     private Order order;
@@ -75,6 +81,14 @@ public class Payment {
         this.amount = amount;
     }
 
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
     public Order getOrder() {
         return order;
     }
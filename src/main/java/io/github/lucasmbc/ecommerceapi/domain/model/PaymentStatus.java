@@ -2,6 +2,7 @@ package io.github.lucasmbc.ecommerceapi.domain.model;
 
 public enum PaymentStatus {
     PENDING,
+    PROCESSING,
     APPROVED,
     REFUSED
 }
@@ -0,0 +1,19 @@
+package io.github.lucasmbc.ecommerceapi.domain.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a {@link TimeOrderedUuid} to the annotated identifier before insert. Hibernate maps
+ * {@link java.util.UUID} to {@code BINARY(16)} on MySQL, so the key stays 16 bytes wide in the primary
+ * key and in every foreign key and secondary index that carries it.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedTimeOrderedUuid {
+}
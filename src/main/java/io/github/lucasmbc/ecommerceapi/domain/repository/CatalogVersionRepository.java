@@ -0,0 +1,18 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.CatalogVersionRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersionRecord, Integer> {
+
+    @Modifying
+    @Query("update CatalogVersionRecord v set v.version = v.version + 1 where v.id = :id")
+    int increment(Integer id);
+
+    @Query("select v.version from CatalogVersionRecord v where v.id = :id")
+    Optional<Long> findVersionById(Integer id);
+}
@@ -1,11 +1,20 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.CATEGORY_QUERY_REGION)
+    })
     Optional<Category> findByNameIgnoreCase(String name);
 }
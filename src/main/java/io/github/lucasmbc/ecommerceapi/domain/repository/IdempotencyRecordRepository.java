@@ -0,0 +1,43 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from IdempotencyRecord r where r.key = :key")
+    Optional<IdempotencyRecord> findByKeyForUpdate(String key);
+
+    // A claim is identified by its key and the time it was made, so a request never touches a claim taken over from it.
+    @Transactional
+    @Modifying
+    @Query("""
+            update IdempotencyRecord r set r.createdAt = :claimedAt, r.expiresAt = :expiresAt
+            where r.key = :key and r.createdAt = :previousClaim
+              and r.status = io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyStatus.IN_PROGRESS
+            """)
+    int takeOver(String key, LocalDateTime previousClaim, LocalDateTime claimedAt, LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from IdempotencyRecord r
+            where r.key = :key and r.createdAt = :claimedAt
+              and r.status = io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyStatus.IN_PROGRESS
+            """)
+    int releaseClaim(String key, LocalDateTime claimedAt);
+}
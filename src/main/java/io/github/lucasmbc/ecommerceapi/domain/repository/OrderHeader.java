@@ -0,0 +1,14 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderHeader(
+        UUID id,
+        BigDecimal total,
+        OrderStatus status,
+        LocalDateTime orderDate
+) {}
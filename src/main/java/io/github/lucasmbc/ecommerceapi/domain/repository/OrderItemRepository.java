@@ -1,9 +1,34 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
+
+    @Query("""
+            select new io.github.lucasmbc.ecommerceapi.domain.repository.ProductOrderCount(oi.product.id, count(oi))
+            from OrderItem oi group by oi.product.id
+            """)
+    List<ProductOrderCount> countOrdersByProduct();
+
+    @Query("""
+            select new io.github.lucasmbc.ecommerceapi.domain.repository.ProductOrderCount(oi.product.id, count(oi))
+            from OrderItem oi where oi.product.id in :productIds group by oi.product.id
+            """)
+    List<ProductOrderCount> countOrdersByProductIdIn(Collection<UUID> productIds);
+
+    @Query("select count(oi) from OrderItem oi where oi.product.id = :productId")
+    long countOrdersByProductId(UUID productId);
+
+    @Query("""
+            select new io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO(p.name, oi.quantity, oi.unitPrice)
+            from OrderItem oi join oi.product p where oi.order.id = :orderId order by oi.id
+            """)
+    List<OrderItemResponseDTO> findResponsesByOrderId(UUID orderId);
 }
@@ -1,15 +1,49 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Order;
 import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    String SELECT_ORDER_SUMMARY = """
+            select new io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO(
+                o.id, o.orderDate, o.status, o.total, (select count(i) from OrderItem i where i.order = o))
+            from Order o
+            """;
+
+    String ORDER_SUMMARY_AFTER = " and (o.orderDate < :orderDate or (o.orderDate = :orderDate and o.id < :id))";
+
+    String ORDER_SUMMARY_SORT = " order by o.orderDate desc, o.id desc";
+
     List<Order> findByCustomerId(UUID customerId);
 
     List<Order> findByStatus(OrderStatus status);
+
+    @Query("""
+            select new io.github.lucasmbc.ecommerceapi.domain.repository.OrderHeader(o.id, o.total, o.status, o.orderDate)
+            from Order o where o.id = :id
+            """)
+    Optional<OrderHeader> findHeaderById(UUID id);
+
+    @Query(SELECT_ORDER_SUMMARY + "where o.customer.id = :customerId" + ORDER_SUMMARY_SORT)
+    List<OrderSummaryResponseDTO> findSummariesByCustomerId(UUID customerId, Limit limit);
+
+    @Query(SELECT_ORDER_SUMMARY + "where o.customer.id = :customerId" + ORDER_SUMMARY_AFTER + ORDER_SUMMARY_SORT)
+    List<OrderSummaryResponseDTO> findSummariesByCustomerIdAfter(UUID customerId, LocalDateTime orderDate, UUID id, Limit limit);
+
+    @Query(SELECT_ORDER_SUMMARY + "where o.customer.id = :customerId and o.status = :status" + ORDER_SUMMARY_SORT)
+    List<OrderSummaryResponseDTO> findSummariesByCustomerIdAndStatus(UUID customerId, OrderStatus status, Limit limit);
+
+    @Query(SELECT_ORDER_SUMMARY + "where o.customer.id = :customerId and o.status = :status" + ORDER_SUMMARY_AFTER + ORDER_SUMMARY_SORT)
+    List<OrderSummaryResponseDTO> findSummariesByCustomerIdAndStatusAfter(UUID customerId, OrderStatus status,
+                                                                          LocalDateTime orderDate, UUID id, Limit limit);
 }
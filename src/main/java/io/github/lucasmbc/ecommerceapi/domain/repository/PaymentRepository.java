@@ -1,12 +1,51 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
 import io.github.lucasmbc.ecommerceapi.domain.model.Payment;
+import io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByOrderId(UUID orderId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Payment p where p.id = :id")
+    Optional<Payment> findByIdForUpdate(UUID id);
+
+    List<Payment> findByStatusAndPaymentDateBefore(PaymentStatus status, LocalDateTime submittedBefore, Limit limit);
+
+    List<Payment> findByStatusAndClaimedAtBefore(PaymentStatus status, LocalDateTime claimedBefore, Limit limit);
+
+    // Only one worker, on any instance, moves a payment to PROCESSING; an expired claim can be taken over.
+    @Transactional
+    @Modifying
+    @Query("""
+            update Payment p
+            set p.status = io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus.PROCESSING, p.claimedAt = :claimedAt
+            where p.id = :id
+              and (p.status = io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus.PENDING
+                   or (p.status = io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus.PROCESSING and p.claimedAt < :expiredBefore))
+            """)
+    int claim(UUID id, LocalDateTime claimedAt, LocalDateTime expiredBefore);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update Payment p
+            set p.status = io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus.PENDING, p.claimedAt = null
+            where p.id = :id and p.claimedAt = :claimedAt
+              and p.status = io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus.PROCESSING
+            """)
+    int release(UUID id, LocalDateTime claimedAt);
 }
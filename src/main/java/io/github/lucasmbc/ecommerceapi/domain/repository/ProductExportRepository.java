@@ -0,0 +1,61 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.config.ExportDataSource;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+/**
+ * Reads the whole catalog for the export on a connection of its own, outside the application's
+ * transactions, so a cursor can be enabled for it alone (see {@code ExportDataSourceConfig}). Rows are
+ * read through a stateless session as DTO projections, so nothing accumulates in a persistence context.
+ */
+@Repository
+public class ProductExportRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final SessionFactory sessionFactory;
+    private final DataSource dataSource;
+
+    public ProductExportRepository(EntityManagerFactory entityManagerFactory, ExportDataSource exportDataSource) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.dataSource = exportDataSource.getDataSource();
+    }
+
+    /**
+     * Every product response in id order. The stream holds a connection until it is closed.
+     */
+    public Stream<ProductResponseDTO> streamResponses() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        StatelessSession session = null;
+        try {
+            // Read-only before the first statement, so a replica-routing DataSource serves it from a replica.
+            connection.setReadOnly(true);
+            session = sessionFactory.openStatelessSession(connection);
+            return session.createSelectionQuery(ProductRepository.SELECT_PRODUCT_RESPONSE + "order by p.id", ProductResponseDTO.class)
+                    .setFetchSize(FETCH_SIZE)
+                    .getResultStream()
+                    .onClose(session::close)
+                    .onClose(() -> DataSourceUtils.releaseConnection(connection, dataSource));
+        } catch (SQLException ex) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw new CannotGetJdbcConnectionException("Failed to prepare the export connection", ex);
+        } catch (RuntimeException ex) {
+            if (session != null) {
+                session.close();
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw ex;
+        }
+    }
+}
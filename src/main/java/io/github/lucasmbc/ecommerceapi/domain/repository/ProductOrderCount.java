@@ -0,0 +1,8 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import java.util.UUID;
+
+public record ProductOrderCount(
+        UUID productId,
+        Long orders
+) {}
@@ -1,14 +1,51 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    String SELECT_PRODUCT_RESPONSE = """
+            select new io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO(
+                p.id, p.name, p.description, p.price, p.stock, p.imageUrl, c.id, c.name)
+            from Product p left join p.category c
+            """;
+
     List<Product> findByCategoryId(UUID categoryId);
 
     List<Product> findByNameContainingIgnoreCase(String name);
+
+    @Modifying
+    @Query("update Product p set p.stock = p.stock - :quantity where p.id = :id and p.stock >= :quantity")
+    int decrementStock(UUID id, int quantity);
+
+    @Query("select p.stock from Product p where p.id = :id")
+    Integer findStockById(UUID id);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "where p.id = :id")
+    Optional<ProductResponseDTO> findResponseById(UUID id);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "where p.id in :ids")
+    List<ProductResponseDTO> findResponsesByIdIn(Collection<UUID> ids);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "order by p.id")
+    List<ProductResponseDTO> findResponses(Limit limit);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "where p.id > :id order by p.id")
+    List<ProductResponseDTO> findResponsesAfter(UUID id, Limit limit);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "where c.id = :categoryId order by p.id")
+    List<ProductResponseDTO> findResponsesByCategoryId(UUID categoryId, Limit limit);
+
+    @Query(SELECT_PRODUCT_RESPONSE + "where c.id = :categoryId and p.id > :id order by p.id")
+    List<ProductResponseDTO> findResponsesByCategoryIdAfter(UUID categoryId, UUID id, Limit limit);
 }
@@ -1,45 +1,68 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.request.AddToCartRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartLineResultResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Cart;
 import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
 import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
-import io.github.lucasmbc.ecommerceapi.domain.repository.CartItemRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CartRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartLine;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartLineStatus;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartStore;
+import io.github.lucasmbc.ecommerceapi.service.cart.StoredCart;
 import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CartService {
 
+    private static final int MAX_BATCH_LINES = 500;
+
+    private final CartStore cartStore;
     private final CartRepository cartRepository;
-    private final CartItemRepository cartItemRepository;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
+    private final ReadYourWrites readYourWrites;
 
-    public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository, CustomerRepository customerRepository, ProductRepository productRepository) {
+    public CartService(CartStore cartStore, CartRepository cartRepository, CustomerRepository customerRepository, ProductRepository productRepository,
+                       ReadYourWrites readYourWrites) {
+        this.cartStore = cartStore;
         this.cartRepository = cartRepository;
-        this.cartItemRepository = cartItemRepository;
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
+        this.readYourWrites = readYourWrites;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public void addItem(UUID customerId, UUID productId, Integer quantity) throws CustomBadRequestException, NotFoundException {
 
         if (quantity == null || quantity <= 0) {
             throw new CustomBadRequestException("Quantity must be greater than zero");
         }
 
-        Customer customer = customerRepository.findById(customerId).orElseThrow(() -> new NotFoundException("Customer not found"));
+        if (!customerExists(customerId)) {
+            throw new NotFoundException("Customer not found");
+        }
 
         Product product = productRepository.findById(productId).orElseThrow(() -> new NotFoundException("Product not found"));
 
@@ -47,36 +70,173 @@ public class CartService {
             throw new CustomBadRequestException("Product stock less than quantity");
         }
 
-        Cart cart = cartRepository.findByCustomerId(customerId).orElseGet(() -> createCart(customer));
+        cartStore.addLine(customerId, productId, quantity, product.getPrice());
+    }
+
+    /**
+     * Adds several products at once. Products are loaded with a single query, lines repeating a
+     * product are merged, and every valid line is written to the cart store in one call. Invalid
+     * lines do not fail the batch; each line gets its own result in request order.
+     */
+    @Transactional(readOnly = true)
+    public List<CartLineResultResponseDTO> addItems(UUID customerId, List<AddToCartRequestDTO> requests) {
+
+        if (requests == null || requests.isEmpty()) {
+            throw new CustomBadRequestException("At least one item is required");
+        }
+
+        if (requests.size() > MAX_BATCH_LINES) {
+            throw new CustomBadRequestException("At most " + MAX_BATCH_LINES + " items are allowed per batch");
+        }
 
-        CartItem item = cartItemRepository
-                .findByCartIdAndProductId(cart.getId(), productId)
-                .orElseGet(() -> createItem(cart, product));
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                throw new CustomBadRequestException("Item at position " + i + " must not be null");
+            }
+        }
 
-        item.setQuantity(item.getQuantity() + quantity);
+        if (!customerExists(customerId)) {
+            throw new NotFoundException("Customer not found");
+        }
 
-        cartItemRepository.save(item);
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (AddToCartRequestDTO request : requests) {
+            if (request.getId() != null && request.getQuantity() > 0) {
+                quantities.merge(request.getId(), request.getQuantity(), Integer::sum);
+            }
+        }
+
+        Map<UUID, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<CartLineResultResponseDTO> results = new ArrayList<>(requests.size());
+        List<CartLine> lines = new ArrayList<>(quantities.size());
+        Set<UUID> reported = new HashSet<>();
+        for (AddToCartRequestDTO request : requests) {
+            if (request.getId() == null) {
+                results.add(result(null, request.getQuantity(), CartLineStatus.MISSING_PRODUCT_ID, "Product id is required"));
+                continue;
+            }
+            if (request.getQuantity() <= 0) {
+                results.add(result(request.getId(), request.getQuantity(), CartLineStatus.INVALID_QUANTITY, "Quantity must be greater than zero"));
+                continue;
+            }
+            if (!reported.add(request.getId())) {
+                continue;
+            }
+
+            Integer quantity = quantities.get(request.getId());
+            Product product = products.get(request.getId());
+            if (product == null) {
+                results.add(result(request.getId(), quantity, CartLineStatus.PRODUCT_NOT_FOUND, "Product not found"));
+            } else if (product.getStock() < quantity) {
+                results.add(result(request.getId(), quantity, CartLineStatus.INSUFFICIENT_STOCK, "Product stock less than quantity"));
+            } else {
+                lines.add(new CartLine(product.getId(), quantity, product.getPrice()));
+                results.add(result(request.getId(), quantity, CartLineStatus.ADDED, null));
+            }
+        }
+
+        if (!lines.isEmpty()) {
+            cartStore.addLines(customerId, lines);
+        }
+        return results;
     }
 
     @Transactional(readOnly = true)
     public List<CartItem> getItems(UUID customerId) {
-        Cart cart = cartRepository.findByCustomerId(customerId).orElseThrow(() -> new NotFoundException("Cart not found"));
-        return cart.getItems();
+        StoredCart cart = cartStore.find(customerId).orElseThrow(() -> new NotFoundException("Cart not found"));
+        Map<UUID, Product> products = findProducts(cart);
+
+        List<CartItem> items = new ArrayList<>(cart.lines().size());
+        for (CartLine line : cart.lines()) {
+            Product product = products.get(line.productId());
+            if (product != null) {
+                items.add(createItem(null, product, line));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Writes the customer's stored cart to the database as a {@link Cart} with its items, inside
+     * the caller's transaction, and drops it from the store once that transaction commits. The
+     * customer row is locked first, so two checkouts of the same customer never both create a cart.
+     */
+    @Transactional
+    public Cart materialize(UUID customerId) {
+        StoredCart stored = cartStore.find(customerId)
+                .filter(cart -> !cart.lines().isEmpty())
+                .orElseThrow(() -> new NotFoundException("Cart not found"));
+
+        Customer customer = customerRepository.findByIdForUpdate(customerId).orElseThrow(() -> new NotFoundException("Customer not found"));
+        Map<UUID, Product> products = findProducts(stored);
+
+        Cart cart = cartRepository.findByCustomerId(customerId).orElseGet(() -> createCart(customer, stored));
+        if (cart.getItems() == null) {
+            cart.setItems(new ArrayList<>());
+        }
+
+        // Existing lines are updated in place: Hibernate flushes inserts before deletes, so replacing the
+        // row of a product bought before would collide with uk_cart_item_cart_product.
+        Map<UUID, CartItem> existing = cart.getItems().stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+        List<CartItem> items = new ArrayList<>(stored.lines().size());
+        for (CartLine line : stored.lines()) {
+            Product product = products.get(line.productId());
+            if (product == null) {
+                throw new NotFoundException("Product not found");
+            }
+            CartItem item = existing.get(product.getId());
+            if (item == null) {
+                items.add(createItem(cart, product, line));
+            } else {
+                item.setQuantity(line.quantity());
+                item.setUnitPrice(unitPrice(product, line));
+                items.add(item);
+            }
+        }
+        // Lines no longer in the stored cart are orphans and get deleted on flush.
+        cart.getItems().clear();
+        cart.getItems().addAll(items);
+
+        Cart saved = cartRepository.save(cart);
+        AfterCommit.run(() -> cartStore.remove(customerId));
+        return saved;
+    }
+
+    // A customer who has just signed up may not have reached the replicas yet.
+    private boolean customerExists(UUID customerId) {
+        return readYourWrites.read(customerId, () -> customerRepository.existsById(customerId));
+    }
+
+    private Map<UUID, Product> findProducts(StoredCart cart) {
+        List<UUID> ids = cart.lines().stream().map(CartLine::productId).toList();
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
     }
 
-    private CartItem createItem(Cart cart, Product product) {
+    private static CartLineResultResponseDTO result(UUID productId, Integer quantity, CartLineStatus status, String message) {
+        return new CartLineResultResponseDTO(productId, quantity, status.name(), message);
+    }
+
+    private CartItem createItem(Cart cart, Product product, CartLine line) {
         CartItem item = new CartItem();
         item.setCart(cart);
         item.setProduct(product);
-        item.setQuantity(0);
-        item.setUnitPrice(product.getPrice());
+        item.setQuantity(line.quantity());
+        item.setUnitPrice(unitPrice(product, line));
         return item;
     }
 
-    private Cart createCart(Customer customer) {
+    private static BigDecimal unitPrice(Product product, CartLine line) {
+        return line.unitPrice() == null ? product.getPrice() : line.unitPrice();
+    }
+
+    private Cart createCart(Customer customer, StoredCart stored) {
         Cart cart = new Cart();
         cart.setCustomer(customer);
-        cart.setCreatedAt(LocalDateTime.now());
-        return cartRepository.save(cart);
+        cart.setCreatedAt(stored.createdAt() == null ? LocalDateTime.now() : LocalDateTime.ofInstant(stored.createdAt(), ZoneId.systemDefault()));
+        return cart;
     }
 }
@@ -0,0 +1,58 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.CatalogVersionRecord;
+import io.github.lucasmbc.ecommerceapi.domain.repository.CatalogVersionRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A counter in the {@code catalog_version} row that moves on every edit of products or categories,
+ * used as the validator for catalog responses so a conditional request is answered without reading
+ * the catalog. It lives in the database, so every instance hands out and checks the same tags.
+ * <p>
+ * Stock is not a catalog edit: checkouts would otherwise move the version on every order. A product's
+ * own tag adds its current stock instead, see {@link #forProduct(UUID)}.
+ */
+@Component
+public class CatalogVersion {
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductRepository productRepository;
+
+    public CatalogVersion(CatalogVersionRepository catalogVersionRepository, ProductRepository productRepository) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Moves the version in the caller's transaction, so it commits with the edit or not at all. A read
+     * racing the commit may tag new rows with the old version, which the commit then retires, never
+     * the reverse. Catalog edits queue on the row lock until the writing transaction ends.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump() {
+        if (catalogVersionRepository.increment(CatalogVersionRecord.SINGLETON_ID) == 0) {
+            // Only a schema built without the migrations lacks the row.
+            catalogVersionRepository.save(new CatalogVersionRecord(CatalogVersionRecord.SINGLETON_ID, 1));
+        }
+    }
+
+    public long current() {
+        return catalogVersionRepository.findVersionById(CatalogVersionRecord.SINGLETON_ID).orElse(0L);
+    }
+
+    /**
+     * Version of one product's response: the catalog version and the product's stock, which together
+     * determine everything the response shows. Empty when the product does not exist.
+     */
+    public Optional<String> forProduct(UUID productId) {
+        long version = current();
+        return Optional.ofNullable(productRepository.findStockById(productId))
+                .map(stock -> version + "-" + stock);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts categories from the Hibernate second-level cache. Hibernate already keeps the
+ * {@code READ_WRITE} region in step with updates made through the session; the explicit eviction
+ * covers changes that bypass it, such as bulk statements. The regions are local to each instance,
+ * so this only clears the instance that made the change: the others keep serving the old category
+ * until their entries expire after the hour set in {@code application.conf}.
+ */
+@Component
+public class CategoryCache {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CategoryCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void evictAfterCommit(UUID categoryId) {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evict(Category.class, categoryId);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(CacheConfig.CATEGORY_QUERY_REGION);
+        });
+    }
+}
@@ -4,6 +4,8 @@ import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CategoryRepository;
 import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +16,18 @@ import java.util.UUID;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryCache categoryCache;
+    private final CatalogVersion catalogVersion;
+    private final ProductCache productCache;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ProductSearchIndex productSearchIndex, CategoryCache categoryCache,
+                           CatalogVersion catalogVersion, ProductCache productCache) {
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.categoryCache = categoryCache;
+        this.catalogVersion = catalogVersion;
+        this.productCache = productCache;
     }
 
     @Transactional
@@ -24,7 +35,9 @@ public class CategoryService {
         if (categoryRepository.findByNameIgnoreCase(category.getName()).isPresent()) {
             throw new BusinessException("Category with name " + category.getName() + " already exists");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        catalogVersion.bump();
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -43,16 +56,27 @@ public class CategoryService {
     public Category update(UUID id, Category category) {
         Category dbCategory = categoryRepository.findById(id).orElseThrow(() -> new NotFoundException("Category not found"));
 
+        boolean renamed = !dbCategory.getName().equals(category.getName());
+
         dbCategory.setName(category.getName());
         dbCategory.setDescription(category.getDescription());
 
-        return categoryRepository.save(dbCategory);
+        Category saved = categoryRepository.save(dbCategory);
+        categoryCache.evictAfterCommit(id);
+        catalogVersion.bump();
+        if (renamed) {
+            productCache.evictAllAfterCommit();
+            AfterCommit.run(() -> productSearchIndex.reindexCategory(id));
+        }
+        return saved;
     }
 
     @Transactional
     public void delete(UUID id) {
         Category dbCategory = categoryRepository.findById(id).orElseThrow(() -> new NotFoundException("Category not found"));
         categoryRepository.deleteById(dbCategory.getId());
+        categoryCache.evictAfterCommit(id);
+        catalogVersion.bump();
     }
 
 }
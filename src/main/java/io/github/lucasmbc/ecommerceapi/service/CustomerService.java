@@ -5,6 +5,7 @@ import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
 import io.github.lucasmbc.ecommerceapi.service.exception.CpfAlreadyExistsException;
 import io.github.lucasmbc.ecommerceapi.service.exception.EmailAlreadyExistsException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,9 +16,11 @@ import java.util.UUID;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final ReadYourWrites readYourWrites;
 
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, ReadYourWrites readYourWrites) {
         this.customerRepository = customerRepository;
+        this.readYourWrites = readYourWrites;
     }
 
     @Transactional
@@ -29,12 +32,15 @@ public class CustomerService {
             throw new CpfAlreadyExistsException(customer.getCpf());
         }
 
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        readYourWrites.recordWrite(saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
     public Customer findById(UUID id) {
-        return customerRepository.findById(id).orElseThrow(() -> new NotFoundException("Customer not found"));
+        return readYourWrites.read(id, () -> customerRepository.findById(id))
+                .orElseThrow(() -> new NotFoundException("Customer not found"));
     }
 
     @Transactional(readOnly = true)
@@ -52,7 +58,9 @@ public class CustomerService {
         dbCustomer.setPhone(customer.getPhone());
         dbCustomer.setAddress(customer.getAddress());
 
-        return customerRepository.save(dbCustomer);
+        Customer saved = customerRepository.save(dbCustomer);
+        readYourWrites.recordWrite(id);
+        return saved;
     }
 
     @Transactional
@@ -0,0 +1,199 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyRecord;
+import io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyStatus;
+import io.github.lucasmbc.ecommerceapi.domain.repository.IdempotencyRecordRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ConflictException;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadRouting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Makes non-idempotent endpoints safe to retry. The first request carrying an
+ * {@code Idempotency-Key} claims the key with an insert, runs, and stores its successful
+ * response; later requests with the same key get that response back without running again.
+ * The response is stored in the same transaction as the work it describes, so a committed
+ * checkout or payment always has its response on record. A claim whose request died before
+ * committing is taken over by the next retry once the lease runs out. Completed responses are kept
+ * in a bounded in-memory LRU in front of the table, and both expire after the configured TTL.
+ * Failed requests release the key so the client can retry.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.lease:PT1M}") Duration lease,
+                              @Value("${idempotency.max-cached-responses:10000}") long maxCachedResponses) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lease = lease;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxCachedResponses)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public <T> ResponseEntity<T> execute(String key, String fingerprint, Class<T> bodyType, Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomBadRequestException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Optional<IdempotencyRecord> existing = find(key);
+        LocalDateTime claimedAt;
+        if (existing.isEmpty()) {
+            claimedAt = claim(key, fingerprint);
+        } else if (isAbandoned(existing.get())) {
+            checkFingerprint(existing.get(), fingerprint);
+            claimedAt = takeOver(existing.get());
+        } else {
+            return replay(existing.get(), fingerprint, bodyType);
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                ResponseEntity<T> response = action.get();
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    complete(key, claimedAt, response);
+                } else {
+                    repository.releaseClaim(key, claimedAt);
+                }
+                return response;
+            });
+        } catch (RuntimeException ex) {
+            repository.releaseClaim(key, claimedAt);
+            throw ex;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        repository.deleteExpired(LocalDateTime.now());
+    }
+
+    private Optional<IdempotencyRecord> find(String key) {
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // The record may have been claimed by a concurrent request a moment ago, so replicas cannot answer this.
+        Optional<IdempotencyRecord> stored = ReadRouting.onPrimary(() -> repository.findById(key));
+        if (stored.isPresent() && stored.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            repository.delete(stored.get());
+            return Optional.empty();
+        }
+        stored.filter(record -> record.getStatus() == IdempotencyStatus.COMPLETED)
+                .ifPresent(record -> completed.put(key, record));
+        return stored;
+    }
+
+    private LocalDateTime claim(String key, String fingerprint) {
+        LocalDateTime now = now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+        try {
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("A request with this Idempotency-Key is already being processed");
+        }
+        return now;
+    }
+
+    private boolean isAbandoned(IdempotencyRecord record) {
+        return record.getStatus() == IdempotencyStatus.IN_PROGRESS
+                && record.getCreatedAt().isBefore(LocalDateTime.now().minus(lease));
+    }
+
+    private LocalDateTime takeOver(IdempotencyRecord record) {
+        LocalDateTime now = now();
+        if (repository.takeOver(record.getKey(), record.getCreatedAt(), now, now.plus(ttl)) == 0) {
+            throw new ConflictException("A request with this Idempotency-Key is already being processed");
+        }
+        return now;
+    }
+
+    private <T> void complete(String key, LocalDateTime claimedAt, ResponseEntity<T> response) {
+        // Locking the claim makes a request whose lease was taken over roll back instead of committing twice.
+        IdempotencyRecord record = repository.findByKeyForUpdate(key)
+                .filter(claim -> claim.getStatus() == IdempotencyStatus.IN_PROGRESS && claim.getCreatedAt().equals(claimedAt))
+                .orElseThrow(() -> new ConflictException("The Idempotency-Key claim expired and was taken over by another request"));
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponseStatus(response.getStatusCode().value());
+        URI location = response.getHeaders().getLocation();
+        record.setResponseLocation(location == null ? null : location.toString());
+        record.setResponseBody(response.hasBody() ? objectMapper.writeValueAsString(response.getBody()) : null);
+        repository.save(record);
+        AfterCommit.run(() -> completed.put(key, record));
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String fingerprint, Class<T> bodyType) {
+        checkFingerprint(record, fingerprint);
+        if (record.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new ConflictException("A request with this Idempotency-Key is already being processed");
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getResponseStatus())
+                .header(REPLAYED_HEADER, "true");
+        if (record.getResponseLocation() != null) {
+            builder.header(HttpHeaders.LOCATION, record.getResponseLocation());
+        }
+        if (record.getResponseBody() == null) {
+            return builder.build();
+        }
+        return builder.body(objectMapper.readValue(record.getResponseBody(), bodyType));
+    }
+
+    private static void checkFingerprint(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new BusinessException("Idempotency-Key was already used for a different request");
+        }
+    }
+
+    // Claims are matched on their timestamp, so it is cut to the precision the column keeps.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderHeader;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderItemRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.pagination.KeysetCursor;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read side of orders. Everything here is answered with DTO projections, so listing a
+ * customer's history never loads order, item, payment or customer entities.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderQueryService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final CustomerRepository customerRepository;
+    private final ReadYourWrites readYourWrites;
+
+    public OrderQueryService(OrderRepository orderRepository, OrderItemRepository orderItemRepository, CustomerRepository customerRepository,
+                             ReadYourWrites readYourWrites) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.customerRepository = customerRepository;
+        this.readYourWrites = readYourWrites;
+    }
+
+    public PageResponseDTO<OrderSummaryResponseDTO> findHistory(UUID customerId, OrderStatus status, String cursor, Integer size) {
+        return readYourWrites.read(customerId, () -> history(customerId, status, cursor, size));
+    }
+
+    /**
+     * Reads an order with its lines in two queries whatever the number of lines: the header and
+     * the lines joined to their product names.
+     */
+    public OrderResponseDTO findDetail(UUID orderId) {
+        return readYourWrites.read(orderId, () -> detail(orderId));
+    }
+
+    public List<OrderItemResponseDTO> findItems(UUID orderId) {
+        return readYourWrites.read(orderId, () -> items(orderId));
+    }
+
+    private PageResponseDTO<OrderSummaryResponseDTO> history(UUID customerId, OrderStatus status, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+
+        List<OrderSummaryResponseDTO> orders;
+        if (firstPage) {
+            orders = status == null
+                    ? orderRepository.findSummariesByCustomerId(customerId, limit)
+                    : orderRepository.findSummariesByCustomerIdAndStatus(customerId, status, limit);
+        } else {
+            KeysetCursor.Position after = KeysetCursor.decodePosition(cursor);
+            orders = status == null
+                    ? orderRepository.findSummariesByCustomerIdAfter(customerId, after.timestamp(), after.id(), limit)
+                    : orderRepository.findSummariesByCustomerIdAndStatusAfter(customerId, status, after.timestamp(), after.id(), limit);
+        }
+
+        if (orders.isEmpty() && firstPage && !customerRepository.existsById(customerId)) {
+            throw new NotFoundException("Customer not found");
+        }
+
+        return KeysetCursor.page(orders, pageSize, order -> KeysetCursor.encode(order.orderDate(), order.id()));
+    }
+
+    private OrderResponseDTO detail(UUID orderId) {
+        OrderHeader header = orderRepository.findHeaderById(orderId)
+                .orElseThrow(() -> new NotFoundException("Order not found"));
+        List<OrderItemResponseDTO> items = orderItemRepository.findResponsesByOrderId(orderId);
+        return new OrderResponseDTO(header.id(), header.total(), header.status().name(), header.orderDate(), items);
+    }
+
+    private List<OrderItemResponseDTO> items(UUID orderId) {
+        List<OrderItemResponseDTO> items = orderItemRepository.findResponsesByOrderId(orderId);
+        if (items.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new NotFoundException("Order not found");
+        }
+        return items;
+    }
+}
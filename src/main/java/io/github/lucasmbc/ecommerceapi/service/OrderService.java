@@ -1,13 +1,20 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
-import io.github.lucasmbc.ecommerceapi.domain.repository.CartRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
-import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.InsufficientStockException;
+import io.github.lucasmbc.ecommerceapi.service.exception.StockShortage;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OrderEvents;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OutboxService;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,24 +22,33 @@ import java.util.UUID;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final CartRepository cartRepository;
+    private final CartService cartService;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final OutboxService outboxService;
+    private final ReadYourWrites readYourWrites;
 
-    public OrderService(OrderRepository orderRepository, CartRepository cartRepository) {
+    public OrderService(OrderRepository orderRepository, CartService cartService, ProductRepository productRepository,
+                        ProductCache productCache, OutboxService outboxService, ReadYourWrites readYourWrites) {
         this.orderRepository = orderRepository;
-        this.cartRepository = cartRepository;
+        this.cartService = cartService;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.outboxService = outboxService;
+        this.readYourWrites = readYourWrites;
     }
 
+    @Transactional
     public Order checkout(UUID customerId) {
-        Cart cart = cartRepository.findByCustomerId(customerId)
-                .orElseThrow(() -> new NotFoundException("Cart not found"));
+        Cart cart = cartService.materialize(customerId);
+
+        reserveStock(cart.getItems());
 
         Order order = new Order();
         order.setCustomer(cart.getCustomer());
         order.setOrderDate(LocalDateTime.now());
         order.setStatus(OrderStatus.PENDING);
 
-        BigDecimal total = BigDecimal.ZERO;
-
         List<OrderItem> items = cart.getItems().stream().map(cartItem -> {
             OrderItem item = new OrderItem();
             item.setOrder(order);
@@ -42,13 +58,52 @@ public class OrderService {
             return item;
         }).toList();
 
+        order.setItems(items);
+        order.setTotal(calculateTotal(items));
+
+        Order saved = orderRepository.save(order);
+        outboxService.record(OrderEvents.AGGREGATE_TYPE, saved.getId(), OrderEvents.ORDER_CREATED,
+                new OrderEvents.OrderCreated(saved.getId(), saved.getCustomer().getId(), saved.getTotal(), items.size(), saved.getOrderDate()));
+        readYourWrites.recordWrite(customerId, saved.getId());
+        return saved;
+    }
+
+    static BigDecimal calculateTotal(List<OrderItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
         for (OrderItem orderItem : items) {
             total = total.add(orderItem.getUnitPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())));
         }
+        return total;
+    }
 
-        order.setItems(items);
-        order.setTotal(total);
+    private void reserveStock(List<CartItem> cartItems) {
+        // Lines are reserved in product id order so concurrent checkouts lock rows in the same order.
+        List<CartItem> lines = cartItems.stream()
+                .sorted(Comparator.comparing(cartItem -> cartItem.getProduct().getId()))
+                .toList();
+
+        List<StockShortage> shortages = new ArrayList<>();
+        for (CartItem line : lines) {
+            Product product = line.getProduct();
+            if (product.getStock() < line.getQuantity()) {
+                shortages.add(new StockShortage(product.getId(), product.getName(), line.getQuantity(), product.getStock()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        for (CartItem line : lines) {
+            Product product = line.getProduct();
+            if (productRepository.decrementStock(product.getId(), line.getQuantity()) == 0) {
+                Integer available = productRepository.findStockById(product.getId());
+                shortages.add(new StockShortage(product.getId(), product.getName(), line.getQuantity(), available));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
 
-        return orderRepository.save(order);
+        productCache.evictAfterCommit(lines.stream().map(line -> line.getProduct().getId()).toList());
     }
 }
@@ -3,36 +3,78 @@ package io.github.lucasmbc.ecommerceapi.service;
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
 import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.PaymentRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ConflictException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ServiceUnavailableException;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGatewayGuard;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentProcessor;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
 public class PaymentService {
 
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
+    private final PaymentProcessor paymentProcessor;
+    private final PaymentGatewayGuard paymentGatewayGuard;
+    private final ReadYourWrites readYourWrites;
 
-    public  PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository) {
+    public  PaymentService(PaymentRepository paymentRepository, OrderRepository orderRepository,
+                           PaymentProcessor paymentProcessor, PaymentGatewayGuard paymentGatewayGuard,
+                           ReadYourWrites readYourWrites) {
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
+        this.paymentProcessor = paymentProcessor;
+        this.paymentGatewayGuard = paymentGatewayGuard;
+        this.readYourWrites = readYourWrites;
     }
 
+    @Transactional
     public Payment pay(UUID orderId, PaymentType type) {
+        // While the circuit is open, reject new payments instead of queueing work that cannot complete.
+        if (!paymentGatewayGuard.isAvailable()) {
+            throw new ServiceUnavailableException("Payment provider is unavailable, try again later", RETRY_AFTER);
+        }
+
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new NotFoundException("Order not found"));
 
-        Payment payment = new Payment();
+        if (order.getStatus() != OrderStatus.PENDING) {
+            throw new BusinessException("Order is not awaiting payment");
+        }
+
+        // A refused payment is retried on the same row so an order keeps a single payment.
+        Payment payment = paymentRepository.findByOrderId(orderId).orElseGet(Payment::new);
+        if (payment.getStatus() == PaymentStatus.PENDING || payment.getStatus() == PaymentStatus.PROCESSING) {
+            throw new ConflictException("A payment for this order is already being processed");
+        }
+
         payment.setOrder(order);
         payment.setPaymentType(type);
-        payment.setStatus(PaymentStatus.APPROVED);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setClaimedAt(null);
         payment.setPaymentDate(LocalDateTime.now());
         payment.setAmount(order.getTotal());
 
-        order.setStatus(OrderStatus.PAID);
+        Payment saved = paymentRepository.save(payment);
+        AfterCommit.run(() -> paymentProcessor.submit(saved.getId()));
+        readYourWrites.recordWrite(orderId);
+        return saved;
+    }
 
-        return paymentRepository.save(payment);
+    @Transactional(readOnly = true)
+    public Payment findByOrderId(UUID orderId) {
+        return readYourWrites.read(orderId, () -> paymentRepository.findByOrderId(orderId))
+                .orElseThrow(() -> new NotFoundException("Payment not found"));
     }
 }
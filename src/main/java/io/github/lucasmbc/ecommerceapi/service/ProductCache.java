@@ -0,0 +1,41 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class ProductCache {
+
+    private final CacheManager cacheManager;
+
+    public ProductCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictAfterCommit(Collection<UUID> productIds) {
+        List<UUID> ids = List.copyOf(productIds);
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+
+    // Cached responses carry the category name, so a rename has to drop every entry, not just the category's products.
+    public void evictAllAfterCommit() {
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
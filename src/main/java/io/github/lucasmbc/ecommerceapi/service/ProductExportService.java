@@ -0,0 +1,51 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductExportRepository;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ProductExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductExportRepository productExportRepository;
+    private final ObjectWriter writer;
+
+    public ProductExportService(ProductExportRepository productExportRepository, ObjectMapper objectMapper) {
+        this.productExportRepository = productExportRepository;
+        // The lines are separated by hand; Jackson's default root separator would start each of them with a space.
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+    }
+
+    /**
+     * Writes the whole catalog to {@code out} as newline-delimited JSON, one product per line in id order.
+     * Rows are read from a forward-only cursor on an export connection and written as they arrive, so
+     * memory use does not grow with the size of the catalog. Closes {@code out} when done.
+     */
+    public long export(OutputStream out, boolean gzip) throws IOException {
+        long count = 0;
+        try (OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+             Stream<ProductResponseDTO> products = productExportRepository.streamResponses();
+             JsonGenerator generator = writer.createGenerator(target)) {
+            for (Iterator<ProductResponseDTO> it = products.iterator(); it.hasNext(); count++) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -1,47 +1,116 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.ProductRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
 import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CategoryRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.pagination.KeysetCursor;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
+import io.github.lucasmbc.ecommerceapi.service.support.AfterCommit;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
 
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogVersion catalogVersion;
 
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository, ProductSearchIndex productSearchIndex,
+                          CatalogVersion catalogVersion) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogVersion = catalogVersion;
     }
 
+    @Transactional
     public Product create(ProductRequestDTO dto) {
 
         Category category = categoryRepository.findById(dto.getCategoryId()).orElseThrow(() -> new NotFoundException("Category not found"));
 
         Product product = ProductMapper.toEntity(dto, category);
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        indexAfterCommit(saved);
+        catalogVersion.bump();
+        return saved;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public ProductResponseDTO findById(UUID id) {
+        return productRepository.findResponseById(id).orElseThrow(() -> new NotFoundException("Product not found"));
     }
 
-    public Product findById(UUID id) {
-        return productRepository.findById(id).orElseThrow(() -> new NotFoundException("Product not found"));
+    public PageResponseDTO<ProductResponseDTO> findAll(UUID categoryId, String cursor, Integer size) {
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        boolean firstPage = KeysetCursor.isFirstPage(cursor);
+
+        List<ProductResponseDTO> products;
+        if (categoryId == null) {
+            products = firstPage
+                    ? productRepository.findResponses(limit)
+                    : productRepository.findResponsesAfter(KeysetCursor.decodeUuid(cursor), limit);
+        } else {
+            products = firstPage
+                    ? productRepository.findResponsesByCategoryId(categoryId, limit)
+                    : productRepository.findResponsesByCategoryIdAfter(categoryId, KeysetCursor.decodeUuid(cursor), limit);
+        }
+
+        if(products.isEmpty() && firstPage) throw new NotFoundException("Products not found");
+
+        return KeysetCursor.page(products, pageSize, product -> KeysetCursor.encode(product.id()));
     }
 
-    public List<Product> findAll() {
-        List<Product> products = productRepository.findAll();
-        if(products.isEmpty()) throw new NotFoundException("Products not found");
-        return products;
+    public List<ProductResponseDTO> search(String query, Integer size) {
+        List<UUID> rankedIds = productSearchIndex.search(query, KeysetCursor.pageSize(size));
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, ProductResponseDTO> productsById = productRepository.findResponsesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ProductResponseDTO::id, Function.identity()));
+
+        return rankedIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
+    public List<ProductSuggestionResponseDTO> suggest(String prefix, Integer size) {
+        if (size != null && size <= 0) {
+            throw new CustomBadRequestException("Size must be greater than zero");
+        }
+        int limit = size == null ? DEFAULT_SUGGESTIONS : Math.min(size, MAX_SUGGESTIONS);
+        return productSearchIndex.suggest(prefix, limit);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public Product update(UUID id, ProductRequestDTO product) {
         Product dbProduct =  productRepository.findById(id).orElseThrow(() -> new NotFoundException("Product not found"));
         Category dbCategory = categoryRepository.findById(product.getCategoryId()).orElseThrow(() -> new NotFoundException("Category not found"));
@@ -53,13 +122,27 @@ public class ProductService {
         dbProduct.setImageUrl(product.getImageUrl());
         dbProduct.setCategory(dbCategory);
 
-        return productRepository.save(dbProduct);
+        Product saved = productRepository.save(dbProduct);
+        indexAfterCommit(saved);
+        catalogVersion.bump();
+        return saved;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void delete(UUID id) {
         Product dbProduct =  productRepository.findById(id).orElseThrow(NotFoundException::new);
 
         productRepository.deleteById(dbProduct.getId());
+        AfterCommit.run(() -> productSearchIndex.remove(id));
+        catalogVersion.bump();
+    }
+
+    // The search index is not part of the transaction, so it only follows writes the database kept.
+    // The response is mapped now, while the category can still be loaded.
+    private void indexAfterCommit(Product product) {
+        ProductResponseDTO response = ProductMapper.toResponse(product);
+        AfterCommit.run(() -> productSearchIndex.index(response));
     }
 
 }
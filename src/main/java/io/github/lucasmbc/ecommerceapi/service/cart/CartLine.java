@@ -0,0 +1,10 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record CartLine(
+        UUID productId,
+        int quantity,
+        BigDecimal unitPrice
+) {}
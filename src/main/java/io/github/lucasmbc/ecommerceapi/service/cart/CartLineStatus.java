@@ -0,0 +1,9 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+public enum CartLineStatus {
+    ADDED,
+    MISSING_PRODUCT_ID,
+    INVALID_QUANTITY,
+    PRODUCT_NOT_FOUND,
+    INSUFFICIENT_STOCK
+}
@@ -0,0 +1,30 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds open carts outside the database. Carts only become {@code Cart} rows when the customer
+ * checks out; until then they live here and expire once abandoned.
+ */
+public interface CartStore {
+
+    Optional<StoredCart> find(UUID customerId);
+
+    /**
+     * Atomically adds {@code quantity} to the product's line, creating the cart and the line when
+     * missing. The unit price is recorded the first time the product is added.
+     */
+    default void addLine(UUID customerId, UUID productId, int quantity, BigDecimal unitPrice) {
+        addLines(customerId, List.of(new CartLine(productId, quantity, unitPrice)));
+    }
+
+    /**
+     * Adds every line in one write, with the same semantics as {@link #addLine} per line.
+     */
+    void addLines(UUID customerId, List<CartLine> lines);
+
+    void remove(UUID customerId);
+}
@@ -0,0 +1,62 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-node cart store. Updates go through {@code compute} on the cache's map, so concurrent
+ * adds for one customer never lose an increment. Carts untouched for the TTL are evicted.
+ */
+public class InMemoryCartStore implements CartStore {
+
+    private final Cache<UUID, StoredCart> carts;
+    private final Clock clock;
+
+    public InMemoryCartStore(Duration ttl, long maxCarts) {
+        this(ttl, maxCarts, Ticker.systemTicker(), Clock.systemUTC());
+    }
+
+    InMemoryCartStore(Duration ttl, long maxCarts, Ticker ticker, Clock clock) {
+        this.carts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxCarts)
+                .ticker(ticker)
+                .build();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredCart> find(UUID customerId) {
+        return Optional.ofNullable(carts.getIfPresent(customerId));
+    }
+
+    @Override
+    public void addLines(UUID customerId, List<CartLine> added) {
+        carts.asMap().compute(customerId, (id, cart) -> {
+            Map<UUID, CartLine> lines = new LinkedHashMap<>();
+            if (cart != null) {
+                cart.lines().forEach(line -> lines.put(line.productId(), line));
+            }
+            for (CartLine line : added) {
+                lines.merge(line.productId(), line,
+                        (current, more) -> new CartLine(current.productId(), current.quantity() + more.quantity(), current.unitPrice()));
+            }
+            return new StoredCart(customerId, cart == null ? clock.instant() : cart.createdAt(), new ArrayList<>(lines.values()));
+        });
+    }
+
+    @Override
+    public void remove(UUID customerId) {
+        carts.invalidate(customerId);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cart store for multi-node deployments. Each cart is one hash, {@code cart:<customerId>}, with a
+ * {@code q:<productId>} quantity field and a {@code p:<productId>} price field per line. Quantities
+ * use HINCRBY and prices HSETNX, so concurrent adds from any node are atomic without locking, and
+ * every write pushes the key's expiry forward. The commands of one write are sent as a single
+ * pipeline.
+ */
+public class RedisCartStore implements CartStore {
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String QUANTITY_PREFIX = "q:";
+    private static final String PRICE_PREFIX = "p:";
+    private static final String CREATED_AT = "createdAt";
+
+    private final StringRedisTemplate redisTemplate;
+    private final HashOperations<String, String, String> hashes;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this(redisTemplate, ttl, Clock.systemUTC());
+    }
+
+    RedisCartStore(StringRedisTemplate redisTemplate, Duration ttl, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.hashes = redisTemplate.opsForHash();
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<StoredCart> find(UUID customerId) {
+        Map<String, String> fields = hashes.entries(key(customerId));
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<CartLine> lines = new ArrayList<>();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (field.getKey().startsWith(QUANTITY_PREFIX)) {
+                String productId = field.getKey().substring(QUANTITY_PREFIX.length());
+                String price = fields.get(PRICE_PREFIX + productId);
+                lines.add(new CartLine(UUID.fromString(productId), Integer.parseInt(field.getValue()),
+                        price == null ? null : new BigDecimal(price)));
+            }
+        }
+        lines.sort(Comparator.comparing(CartLine::productId));
+
+        String createdAt = fields.get(CREATED_AT);
+        return Optional.of(new StoredCart(customerId, createdAt == null ? null : Instant.parse(createdAt), lines));
+    }
+
+    @Override
+    public void addLines(UUID customerId, List<CartLine> lines) {
+        String key = key(customerId);
+        String createdAt = clock.instant().toString();
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                var pipeline = (RedisOperations<String, String>) operations;
+                HashOperations<String, String, String> pipelinedHashes = pipeline.opsForHash();
+                pipelinedHashes.putIfAbsent(key, CREATED_AT, createdAt);
+                for (CartLine line : lines) {
+                    pipelinedHashes.putIfAbsent(key, PRICE_PREFIX + line.productId(), line.unitPrice().toPlainString());
+                    pipelinedHashes.increment(key, QUANTITY_PREFIX + line.productId(), line.quantity());
+                }
+                pipeline.expire(key, ttl);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void remove(UUID customerId) {
+        redisTemplate.delete(key(customerId));
+    }
+
+    private static String key(UUID customerId) {
+        return KEY_PREFIX + customerId;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record StoredCart(
+        UUID customerId,
+        Instant createdAt,
+        List<CartLine> lines
+) {}
@@ -0,0 +1,7 @@
+package io.github.lucasmbc.ecommerceapi.service.exception;
+
+public class ConflictException extends BusinessException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.lucasmbc.ecommerceapi.service.exception;
+
+import java.util.List;
+
+public class InsufficientStockException extends BusinessException {
+
+    private final List<StockShortage> shortages;
+
+    public InsufficientStockException(List<StockShortage> shortages) {
+        super("Insufficient stock for " + shortages.size() + " item(s)");
+        this.shortages = List.copyOf(shortages);
+    }
+
+    public List<StockShortage> getShortages() {
+        return shortages;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.lucasmbc.ecommerceapi.service.exception;
+
+import java.util.UUID;
+
+public record StockShortage(
+        UUID productId,
+        String productName,
+        Integer requested,
+        Integer available
+) {}
@@ -0,0 +1,23 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Writes each event as one line on the {@code outbox} logger, which can be routed to its own
+ * file through the logging configuration.
+ */
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger("outbox");
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("{} {} {} {} {}", message.id(), message.eventType(), message.aggregateType(),
+                    message.aggregateId(), message.payload());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Payloads of the order events written to the outbox. Field names are part of the contract
+ * with downstream consumers.
+ */
+public final class OrderEvents {
+
+    public static final String AGGREGATE_TYPE = "Order";
+
+    public static final String ORDER_CREATED = "OrderCreated";
+    public static final String ORDER_PAID = "OrderPaid";
+    public static final String PAYMENT_REFUSED = "PaymentRefused";
+
+    private OrderEvents() {}
+
+    public record OrderCreated(UUID orderId, UUID customerId, BigDecimal total, int items, LocalDateTime orderDate) {
+    }
+
+    public record OrderPaid(UUID orderId, UUID paymentId, String paymentType, BigDecimal amount, String status) {
+    }
+
+    public record PaymentRefused(UUID orderId, UUID paymentId, String paymentType, BigDecimal amount, String reason) {
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OutboxMessage(UUID id, String aggregateType, UUID aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
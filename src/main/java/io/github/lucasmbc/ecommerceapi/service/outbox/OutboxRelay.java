@@ -0,0 +1,84 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OutboxEvent;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes unpublished outbox rows to the {@link OutboxSink} in batches. Each batch is locked
+ * with {@code SKIP LOCKED}, handed to the sink and marked published in one transaction, so a
+ * crash or sink failure before the commit only causes the batch to be delivered again
+ * (at-least-once).
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:10}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.flush-interval:PT1S}")
+    public void relay() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed, unpublished events will be retried: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval:PT1H}")
+    public void purgePublished() {
+        outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findByPublishedAtIsNullOrderByCreatedAtAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(events.stream()
+                .map(event -> new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                        event.getEventType(), event.getPayload(), event.getCreatedAt()))
+                .toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> event.setPublishedAt(now));
+        return events.size();
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch counts as delivered only when {@code publish}
+ * returns normally; if it throws, the whole batch is sent again later, so consumers must
+ * tolerate duplicates and use the message id to discard them.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
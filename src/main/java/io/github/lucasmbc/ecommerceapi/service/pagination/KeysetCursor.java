@@ -0,0 +1,92 @@
+package io.github.lucasmbc.ecommerceapi.service.pagination;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Opaque cursors for keyset pagination. A cursor carries the sort key of the last row of a page,
+ * so the next page is a range scan on an index instead of an OFFSET that grows with depth.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetCursor() {}
+
+    public static String encode(UUID id) {
+        return toBase64(id.toString());
+    }
+
+    public static UUID decodeUuid(String cursor) {
+        try {
+            return UUID.fromString(fromBase64(cursor));
+        } catch (IllegalArgumentException ex) {
+            throw new CustomBadRequestException("Invalid cursor");
+        }
+    }
+
+    public static String encode(LocalDateTime timestamp, UUID id) {
+        return toBase64(timestamp + "|" + id);
+    }
+
+    public static Position decodePosition(String cursor) {
+        try {
+            String[] parts = fromBase64(cursor).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new CustomBadRequestException("Invalid cursor");
+            }
+            return new Position(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new CustomBadRequestException("Invalid cursor");
+        }
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size <= 0) {
+            throw new CustomBadRequestException("Page size must be greater than zero");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}; the extra row only
+     * signals that another page exists and is never returned.
+     */
+    public static <T> PageResponseDTO<T> page(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new PageResponseDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageResponseDTO<>(List.copyOf(items), cursorOf.apply(items.getLast()));
+    }
+
+    private static String toBase64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromBase64(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sort key of a row ordered by a timestamp with the id as tie-breaker.
+     */
+    public record Position(LocalDateTime timestamp, UUID id) {
+    }
+}
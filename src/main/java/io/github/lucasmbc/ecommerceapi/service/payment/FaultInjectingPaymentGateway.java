@@ -0,0 +1,57 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps a gateway and makes a share of its calls fail or hang, so the isolation around the
+ * payment path can be exercised locally. The rates can be changed at runtime to simulate the
+ * acquirer degrading and recovering.
+ */
+public class FaultInjectingPaymentGateway implements PaymentGateway {
+
+    private final PaymentGateway delegate;
+    private volatile double errorRate;
+    private volatile double slowRate;
+    private volatile Duration slowLatency;
+
+    public FaultInjectingPaymentGateway(PaymentGateway delegate, double errorRate, double slowRate, Duration slowLatency) {
+        this.delegate = delegate;
+        this.errorRate = errorRate;
+        this.slowRate = slowRate;
+        this.slowLatency = slowLatency;
+    }
+
+    @Override
+    public GatewayResult authorize(PaymentAuthorization authorization) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < slowRate) {
+            sleep(slowLatency);
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new IllegalStateException("Injected gateway failure");
+        }
+        return delegate.authorize(authorization);
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public void setSlowRate(double slowRate) {
+        this.slowRate = slowRate;
+    }
+
+    public void setSlowLatency(Duration slowLatency) {
+        this.slowLatency = slowLatency;
+    }
+
+    private void sleep(Duration latency) {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while injecting gateway latency", ex);
+        }
+    }
+}
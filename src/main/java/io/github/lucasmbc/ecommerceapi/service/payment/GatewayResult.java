@@ -0,0 +1,12 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+public record GatewayResult(boolean approved, String reason) {
+
+    public static GatewayResult approve() {
+        return new GatewayResult(true, null);
+    }
+
+    public static GatewayResult refuse(String reason) {
+        return new GatewayResult(false, reason);
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+public class GatewayUnavailableException extends RuntimeException {
+
+    private final boolean callAttempted;
+
+    public GatewayUnavailableException(String message) {
+        this(message, null, true);
+    }
+
+    public GatewayUnavailableException(String message, Throwable cause) {
+        this(message, cause, true);
+    }
+
+    public GatewayUnavailableException(String message, Throwable cause, boolean callAttempted) {
+        super(message, cause);
+        this.callAttempted = callAttempted;
+    }
+
+    /**
+     * Whether the call may have reached the acquirer, in which case its outcome is unknown: a timed
+     * out authorization may still have been approved.
+     */
+    public boolean isCallAttempted() {
+        return callAttempted;
+    }
+}
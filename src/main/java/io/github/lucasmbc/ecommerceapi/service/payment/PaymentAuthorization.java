@@ -0,0 +1,9 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.PaymentType;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record PaymentAuthorization(UUID paymentId, UUID orderId, PaymentType paymentType, BigDecimal amount) {
+}
@@ -0,0 +1,15 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+/**
+ * Acquirer that authorizes a payment. Calls may block for seconds, so they are only made from
+ * {@link PaymentProcessor} workers, never from a request thread or inside a transaction.
+ * <p>
+ * Implementations must send {@link PaymentAuthorization#paymentId()} to the acquirer as the
+ * idempotency key of the request. A call whose outcome is unknown, such as one cut short by the
+ * timeout, is sent again with the same payment id once its processing claim expires, and the
+ * acquirer has to answer it with the original result rather than authorize the payment twice.
+ */
+public interface PaymentGateway {
+
+    GatewayResult authorize(PaymentAuthorization authorization);
+}
@@ -0,0 +1,78 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Isolates calls to the {@link PaymentGateway}. Each call runs on its own thread behind a
+ * bulkhead that bounds how many calls the acquirer sees at once, is abandoned after the time
+ * limit, and goes through a circuit breaker that fails fast while the acquirer keeps failing or
+ * timing out. Refusals are normal answers and do not count as failures.
+ * <p>
+ * The bulkhead permit is held by the gateway thread rather than the caller, so calls that were
+ * abandoned on timeout still count against the limit until the acquirer actually answers.
+ */
+public class PaymentGatewayGuard implements AutoCloseable {
+
+    private final PaymentGateway gateway;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+    private final ExecutorService callExecutor;
+
+    public PaymentGatewayGuard(PaymentGateway gateway, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                               TimeLimiter timeLimiter, ExecutorService callExecutor) {
+        this.gateway = gateway;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.timeLimiter = timeLimiter;
+        this.callExecutor = callExecutor;
+    }
+
+    public GatewayResult authorize(PaymentAuthorization authorization) {
+        Callable<GatewayResult> isolated = Bulkhead.decorateCallable(bulkhead, () -> gateway.authorize(authorization));
+        Callable<GatewayResult> timed = TimeLimiter.decorateFutureSupplier(timeLimiter, () -> callExecutor.submit(isolated));
+        Callable<GatewayResult> guarded = CircuitBreaker.decorateCallable(circuitBreaker, timed);
+
+        try {
+            return guarded.call();
+        } catch (CallNotPermittedException ex) {
+            throw new GatewayUnavailableException("Payment gateway circuit is open", ex, false);
+        } catch (BulkheadFullException ex) {
+            throw new GatewayUnavailableException("Too many concurrent payment gateway calls", ex, false);
+        } catch (TimeoutException ex) {
+            throw new GatewayUnavailableException("Payment gateway timed out", ex);
+        } catch (GatewayUnavailableException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new GatewayUnavailableException("Payment gateway call failed", ex);
+        }
+    }
+
+    /**
+     * Whether new payments should be accepted. False only while the circuit is open; a
+     * half-open circuit lets traffic through so the trial calls can close it again.
+     */
+    public boolean isAvailable() {
+        return switch (circuitBreaker.getState()) {
+            case OPEN, FORCED_OPEN -> false;
+            default -> true;
+        };
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public void close() {
+        callExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+import io.github.lucasmbc.ecommerceapi.domain.model.Payment;
+import io.github.lucasmbc.ecommerceapi.domain.model.PaymentStatus;
+import io.github.lucasmbc.ecommerceapi.domain.repository.PaymentRepository;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OrderEvents;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OutboxService;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Moves {@code PENDING} payments through the gateway on a bounded worker pool. The gateway is
+ * called through the {@link PaymentGatewayGuard} and outside any transaction so a slow acquirer holds neither a request thread nor a
+ * connection; only the final status update runs in a short transaction. Payments that could not
+ * be queued stay {@code PENDING} and are picked up again by {@link #resubmitStale()}.
+ * <p>
+ * Before calling the gateway a worker claims the payment by moving it to {@code PROCESSING}, so a
+ * payment is authorized by one worker at a time across all instances. A call that never reached
+ * the acquirer releases the claim; a call whose outcome is unknown keeps it until the lease
+ * expires and is then sent again with the same payment id, which the acquirer uses as the
+ * idempotency key (see {@link PaymentGateway}).
+ */
+@Component
+public class PaymentProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentProcessor.class);
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final PaymentGatewayGuard gateway;
+    private final PaymentRepository paymentRepository;
+    private final OutboxService outboxService;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration staleAfter;
+    private final Duration lease;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PaymentProcessor(PaymentGatewayGuard gateway,
+                            PaymentRepository paymentRepository,
+                            OutboxService outboxService,
+                            @Qualifier("paymentExecutor") Executor executor,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${payment.processing.stale-after:PT1M}") Duration staleAfter,
+                            @Value("${payment.processing.lease:PT2M}") Duration lease) {
+        this.gateway = gateway;
+        this.paymentRepository = paymentRepository;
+        this.outboxService = outboxService;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.staleAfter = staleAfter;
+        this.lease = lease;
+    }
+
+    public void submit(UUID paymentId) {
+        if (!inFlight.add(paymentId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(paymentId);
+                } finally {
+                    inFlight.remove(paymentId);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(paymentId);
+            log.warn("Payment queue is full, payment {} will be retried by the sweeper", paymentId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.processing.sweep-interval:PT30S}")
+    public void resubmitStale() {
+        LocalDateTime now = LocalDateTime.now();
+        paymentRepository.findByStatusAndPaymentDateBefore(PaymentStatus.PENDING, now.minus(staleAfter), Limit.of(SWEEP_BATCH_SIZE))
+                .forEach(payment -> submit(payment.getId()));
+        paymentRepository.findByStatusAndClaimedAtBefore(PaymentStatus.PROCESSING, now.minus(lease), Limit.of(SWEEP_BATCH_SIZE))
+                .forEach(payment -> submit(payment.getId()));
+    }
+
+    void process(UUID paymentId) {
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (paymentRepository.claim(paymentId, claimedAt, claimedAt.minus(lease)) == 0) {
+            return;
+        }
+
+        PaymentAuthorization authorization = ReadRouting.onPrimary(() -> paymentRepository.findById(paymentId))
+                .filter(payment -> payment.getStatus() == PaymentStatus.PROCESSING)
+                .map(payment -> new PaymentAuthorization(payment.getId(), payment.getOrder().getId(), payment.getPaymentType(), payment.getAmount()))
+                .orElse(null);
+        if (authorization == null) {
+            return;
+        }
+
+        GatewayResult result;
+        try {
+            result = gateway.authorize(authorization);
+        } catch (GatewayUnavailableException ex) {
+            if (ex.isCallAttempted()) {
+                log.warn("Outcome of payment {} is unknown, it will be retried after {}: {}", paymentId, lease, ex.getMessage());
+            } else {
+                paymentRepository.release(paymentId, claimedAt);
+                log.warn("Gateway unavailable for payment {}, it will be retried: {}", paymentId, ex.getMessage());
+            }
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> complete(paymentId, result));
+    }
+
+    private void complete(UUID paymentId, GatewayResult result) {
+        // Locked so a worker that took over an expired claim cannot complete the payment a second time.
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PROCESSING) {
+            return;
+        }
+
+        UUID orderId = payment.getOrder().getId();
+        if (result.approved()) {
+            payment.setStatus(PaymentStatus.APPROVED);
+            payment.getOrder().setStatus(OrderStatus.PAID);
+            outboxService.record(OrderEvents.AGGREGATE_TYPE, orderId, OrderEvents.ORDER_PAID,
+                    new OrderEvents.OrderPaid(orderId, paymentId, payment.getPaymentType().name(), payment.getAmount(), OrderStatus.PAID.name()));
+        } else {
+            payment.setStatus(PaymentStatus.REFUSED);
+            log.info("Payment {} refused: {}", paymentId, result.reason());
+            outboxService.record(OrderEvents.AGGREGATE_TYPE, orderId, OrderEvents.PAYMENT_REFUSED,
+                    new OrderEvents.PaymentRefused(orderId, paymentId, payment.getPaymentType().name(), payment.getAmount(), result.reason()));
+        }
+        paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the acquirer: sleeps for a random latency in the configured range and
+ * refuses any amount above the approval limit.
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Duration minLatency;
+    private final Duration maxLatency;
+    private final BigDecimal approvalLimit;
+
+    public SimulatedPaymentGateway(Duration minLatency, Duration maxLatency, BigDecimal approvalLimit) {
+        if (maxLatency.compareTo(minLatency) < 0) {
+            throw new IllegalArgumentException("maxLatency must not be lower than minLatency");
+        }
+        this.minLatency = minLatency;
+        this.maxLatency = maxLatency;
+        this.approvalLimit = approvalLimit;
+    }
+
+    @Override
+    public GatewayResult authorize(PaymentAuthorization authorization) {
+        sleep();
+        if (authorization.amount().compareTo(approvalLimit) > 0) {
+            return GatewayResult.refuse("Amount above approval limit");
+        }
+        return GatewayResult.approve();
+    }
+
+    private void sleep() {
+        long min = minLatency.toMillis();
+        long max = maxLatency.toMillis();
+        long latency = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        if (latency == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the gateway", ex);
+        }
+    }
+}
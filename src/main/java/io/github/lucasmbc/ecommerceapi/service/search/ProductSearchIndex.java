@@ -0,0 +1,304 @@
+package io.github.lucasmbc.ecommerceapi.service.search;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderItemRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductOrderCount;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Inverted index over product name, description and category name. Reads go through a
+ * {@link SearcherManager} that is refreshed after every write, so searches see a product as
+ * soon as {@code ProductService} returns.
+ * <p>
+ * The same index serves name autocomplete: Lucene keeps the term dictionary of every field in a
+ * compressed FST, so prefix lookups over product names need no separate trie. Suggestions are
+ * ordered by a per-document popularity value (the number of order lines for the product), kept
+ * in doc values so it can be refreshed without reindexing the documents.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String POPULARITY = "popularity";
+
+    private static final String[] SEARCH_FIELDS = {NAME, CATEGORY, DESCRIPTION};
+    private static final Map<String, Float> BOOSTS = Map.of(NAME, 3f, CATEGORY, 2f, DESCRIPTION, 1f);
+    private static final Sort BY_POPULARITY = new Sort(new SortField(POPULARITY, SortField.Type.LONG, true), SortField.FIELD_SCORE);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final Analyzer analyzer;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              OrderItemRepository orderItemRepository,
+                              @Value("${catalog.search.index-path:}") String indexPath) throws IOException {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.analyzer = createAnalyzer();
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            Map<UUID, Long> popularity = toMap(orderItemRepository.countOrdersByProduct());
+            long count = 0;
+            List<ProductResponseDTO> batch = productRepository.findResponses(Limit.of(REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                for (ProductResponseDTO product : batch) {
+                    writer.addDocument(toDocument(product, popularity.getOrDefault(product.id(), 0L)));
+                }
+                count += batch.size();
+                batch = productRepository.findResponsesAfter(batch.getLast().id(), Limit.of(REBUILD_BATCH_SIZE));
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Product search index rebuilt with {} products", count);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void index(ProductResponseDTO product) {
+        long popularity = orderItemRepository.countOrdersByProductId(product.id());
+        try {
+            writer.updateDocument(new Term(ID, product.id().toString()), toDocument(product, popularity));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void reindexCategory(UUID categoryId) {
+        try {
+            List<ProductResponseDTO> batch = productRepository.findResponsesByCategoryId(categoryId, Limit.of(REBUILD_BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                Map<UUID, Long> popularity = toMap(orderItemRepository.countOrdersByProductIdIn(batch.stream().map(ProductResponseDTO::id).toList()));
+                for (ProductResponseDTO product : batch) {
+                    writer.updateDocument(new Term(ID, product.id().toString()), toDocument(product, popularity.getOrDefault(product.id(), 0L)));
+                }
+                batch = productRepository.findResponsesByCategoryIdAfter(categoryId, batch.getLast().id(), Limit.of(REBUILD_BATCH_SIZE));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void remove(UUID productId) {
+        try {
+            writer.deleteDocuments(new Term(ID, productId.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching products, most relevant first. Every term of the query
+     * must match one of the fields; matches on the name weigh more than on the category or
+     * description.
+     */
+    public List<UUID> search(String text, int limit) {
+        Query query = parse(text);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<UUID> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(UUID.fromString(storedFields.document(scoreDoc.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} products whose name contains every word of the prefix, the last
+     * word matched as a prefix, most ordered first.
+     */
+    public List<ProductSuggestionResponseDTO> suggest(String prefix, int limit) {
+        List<String> terms = analyze(prefix);
+        if (terms.isEmpty()) {
+            throw new CustomBadRequestException("Suggestion prefix must not be blank");
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms.subList(0, terms.size() - 1)) {
+            query.add(new TermQuery(new Term(NAME, term)), BooleanClause.Occur.MUST);
+        }
+        query.add(new PrefixQuery(new Term(NAME, terms.getLast())), BooleanClause.Occur.MUST);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query.build(), limit, BY_POPULARITY);
+                StoredFields storedFields = searcher.storedFields();
+                List<ProductSuggestionResponseDTO> suggestions = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    Document document = storedFields.document(scoreDoc.doc);
+                    suggestions.add(new ProductSuggestionResponseDTO(UUID.fromString(document.get(ID)), document.get(NAME)));
+                }
+                return suggestions;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.search.popularity-refresh:PT15M}",
+            fixedDelayString = "${catalog.search.popularity-refresh:PT15M}")
+    public void refreshPopularity() {
+        try {
+            for (ProductOrderCount orderCount : orderItemRepository.countOrdersByProduct()) {
+                writer.updateNumericDocValue(new Term(ID, orderCount.productId().toString()), POPULARITY, orderCount.orders());
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String text) {
+        if (text == null || text.isBlank()) {
+            throw new CustomBadRequestException("Search query must not be blank");
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer, BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(text));
+        } catch (ParseException ex) {
+            throw new CustomBadRequestException("Invalid search query");
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return terms;
+    }
+
+    private static Map<UUID, Long> toMap(List<ProductOrderCount> orderCounts) {
+        Map<UUID, Long> popularity = new HashMap<>();
+        for (ProductOrderCount orderCount : orderCounts) {
+            popularity.put(orderCount.productId(), orderCount.orders());
+        }
+        return popularity;
+    }
+
+    private static Document toDocument(ProductResponseDTO product, long popularity) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.id().toString(), Field.Store.YES));
+        document.add(new TextField(NAME, product.name(), Field.Store.YES));
+        document.add(new NumericDocValuesField(POPULARITY, popularity));
+        if (product.description() != null) {
+            document.add(new TextField(DESCRIPTION, product.description(), Field.Store.NO));
+        }
+        if (product.categoryName() != null) {
+            document.add(new TextField(CATEGORY, product.categoryName(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private static Analyzer createAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new LowerCaseFilter(tokenizer);
+                stream = new ASCIIFoldingFilter(stream);
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+}
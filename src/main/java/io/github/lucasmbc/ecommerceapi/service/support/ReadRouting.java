@@ -0,0 +1,31 @@
+package io.github.lucasmbc.ecommerceapi.service.support;
+
+import java.util.function.Supplier;
+
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> false);
+
+    private ReadRouting() {}
+
+    /**
+     * Runs the query against the primary even when it is read-only, for reads that must see a write
+     * the replicas may not have applied yet. The connection is chosen by the first statement of a
+     * transaction, so this has to wrap that statement.
+     */
+    public static <T> T onPrimary(Supplier<T> query) {
+        if (PRIMARY_REQUIRED.get()) {
+            return query.get();
+        }
+        PRIMARY_REQUIRED.set(true);
+        try {
+            return query.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+}
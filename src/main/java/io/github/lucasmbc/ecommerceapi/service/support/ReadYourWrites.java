@@ -0,0 +1,95 @@
+package io.github.lucasmbc.ecommerceapi.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.Cookie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the customers and orders written in the last few seconds so their reads go to the
+ * primary until the replicas have caught up, instead of showing a customer an order history
+ * without the order they just placed.
+ * <p>
+ * The keys are only remembered by the instance that made the write. So that the next request of
+ * the same client can land on any instance, a write made during a request also sets the
+ * {@value #COOKIE} cookie to the end of the window, and every read of a request carrying an
+ * unexpired cookie goes to the primary. Clients that drop cookies keep only the per-instance
+ * stickiness.
+ */
+@Component
+public class ReadYourWrites {
+
+    public static final String COOKIE = "read-primary-until";
+
+    private static final long MAX_TRACKED_KEYS = 100_000;
+
+    private final Duration window;
+    private final Cache<UUID, Boolean> recentWrites;
+
+    public ReadYourWrites(@Value("${datasource.replicas.stickiness-window:PT10S}") Duration window) {
+        this.window = window;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(MAX_TRACKED_KEYS)
+                .build();
+    }
+
+    public void recordWrite(UUID... keys) {
+        List<UUID> written = List.of(keys);
+        AfterCommit.run(() -> {
+            written.forEach(key -> recentWrites.put(key, Boolean.TRUE));
+            stickCurrentClient();
+        });
+    }
+
+    public boolean isRecentlyWritten(UUID key) {
+        return recentWrites.getIfPresent(key) != null || currentClientWroteRecently();
+    }
+
+    public <T> T read(UUID key, Supplier<T> query) {
+        return isRecentlyWritten(key) ? ReadRouting.onPrimary(query) : query.get();
+    }
+
+    private void stickCurrentClient() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes && attributes.getResponse() != null) {
+            long until = System.currentTimeMillis() + window.toMillis();
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(until))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            attributes.getResponse().addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+
+    // The deadline is an absolute time from the writing instance, so clock skew between instances shortens or stretches it.
+    // A client cannot pin itself to the primary for longer than one window by sending a later deadline.
+    private boolean currentClientWroteRecently() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        Cookie cookie = WebUtils.getCookie(attributes.getRequest(), COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long until = Long.parseLong(cookie.getValue());
+            long now = System.currentTimeMillis();
+            return until > now && until <= now + window.toMillis();
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+CREATE TABLE category (
+    id          BINARY(16)   NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE product (
+    id          BINARY(16)     NOT NULL,
+    name        VARCHAR(150)   NOT NULL,
+    description VARCHAR(255),
+    price       DECIMAL(38, 2) NOT NULL,
+    stock       INT            NOT NULL,
+    image_url   VARCHAR(255),
+    category_id BINARY(16),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_product_category FOREIGN KEY (category_id) REFERENCES category (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customer (
+    id       BINARY(16)   NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    cpf      VARCHAR(255) NOT NULL,
+    phone    VARCHAR(255),
+    address  VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customer_email UNIQUE (email),
+    CONSTRAINT uk_customer_cpf UNIQUE (cpf)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart (
+    id          BINARY(16) NOT NULL,
+    created_at  DATETIME(6),
+    customer_id BINARY(16),
+    version     BIGINT DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cart_customer UNIQUE (customer_id),
+    CONSTRAINT fk_cart_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_item (
+    id         BINARY(16)     NOT NULL,
+    quantity   INT            NOT NULL,
+    unit_price DECIMAL(38, 2) NOT NULL,
+    product_id BINARY(16),
+    cart_id    BINARY(16),
+    version    BIGINT DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cart_item_cart_product UNIQUE (cart_id, product_id),
+    CONSTRAINT fk_cart_item_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_cart_item_cart FOREIGN KEY (cart_id) REFERENCES cart (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id          BINARY(16)                           NOT NULL,
+    order_date  DATETIME(6),
+    status      ENUM ('PENDING', 'PAID', 'CANCELED') NOT NULL,
+    total       DECIMAL(38, 2)                       NOT NULL,
+    customer_id BINARY(16),
+    PRIMARY KEY (id),
+    INDEX idx_orders_customer_date (customer_id, order_date, id),
+    CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_item (
+    id         BINARY(16)     NOT NULL,
+    quantity   INT            NOT NULL,
+    unit_price DECIMAL(38, 2) NOT NULL,
+    product_id BINARY(16),
+    order_id   BINARY(16),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_item_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payment (
+    id           BINARY(16)                               NOT NULL,
+    payment_type ENUM ('PIX', 'CREDIT_CARD', 'BOLETO')    NOT NULL,
+    status       ENUM ('PENDING', 'APPROVED', 'REFUSED')  NOT NULL,
+    payment_date DATETIME(6),
+    amount       DECIMAL(38, 2)                           NOT NULL,
+    order_id     BINARY(16),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payment_order UNIQUE (order_id),
+    CONSTRAINT fk_payment_order FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE outbox_event (
+    id             BINARY(16)   NOT NULL,
+    aggregate_type VARCHAR(50)  NOT NULL,
+    aggregate_id   BINARY(16)   NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    payload        LONGTEXT     NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    published_at   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE idempotency_record (
+    idempotency_key   VARCHAR(255)                       NOT NULL,
+    fingerprint       VARCHAR(500)                       NOT NULL,
+    status            ENUM ('IN_PROGRESS', 'COMPLETED')  NOT NULL,
+    response_status   INT,
+    response_location VARCHAR(1000),
+    response_body     LONGTEXT,
+    created_at        DATETIME(6)                        NOT NULL,
+    expires_at        DATETIME(6)                        NOT NULL,
+    PRIMARY KEY (idempotency_key)
+) ENGINE = InnoDB;
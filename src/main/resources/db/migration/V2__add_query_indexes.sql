@@ -0,0 +1,17 @@
+-- cart.customer_id, cart_item(cart_id, product_id) and payment.order_id are already covered by their unique keys.
+
+CREATE INDEX idx_orders_customer_status_date ON orders (customer_id, status, order_date, id);
+CREATE INDEX idx_orders_status ON orders (status);
+
+CREATE INDEX idx_order_item_order ON order_item (order_id, id);
+CREATE INDEX idx_order_item_product ON order_item (product_id);
+
+CREATE INDEX idx_cart_item_product ON cart_item (product_id);
+
+CREATE INDEX idx_payment_status_date ON payment (status, payment_date);
+
+CREATE INDEX idx_product_category ON product (category_id, id);
+
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (published_at, created_at);
+
+CREATE INDEX idx_idempotency_record_expires ON idempotency_record (expires_at);
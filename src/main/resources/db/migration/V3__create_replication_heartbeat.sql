@@ -0,0 +1,7 @@
+CREATE TABLE replication_heartbeat (
+    id      INT         NOT NULL,
+    beat_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, NOW(6));
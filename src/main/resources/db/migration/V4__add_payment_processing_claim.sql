@@ -0,0 +1,3 @@
+ALTER TABLE payment
+    MODIFY status ENUM ('PENDING', 'PROCESSING', 'APPROVED', 'REFUSED') NOT NULL,
+    ADD COLUMN claimed_at DATETIME(6);
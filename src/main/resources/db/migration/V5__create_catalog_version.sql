@@ -0,0 +1,7 @@
+CREATE TABLE catalog_version (
+    id      INT    NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO catalog_version (id, version) VALUES (1, 0);
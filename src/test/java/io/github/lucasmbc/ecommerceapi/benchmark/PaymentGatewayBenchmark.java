@@ -0,0 +1,96 @@
+package io.github.lucasmbc.ecommerceapi.benchmark;
+
+import io.github.lucasmbc.ecommerceapi.config.PaymentConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.PaymentType;
+import io.github.lucasmbc.ecommerceapi.service.payment.FaultInjectingPaymentGateway;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentAuthorization;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGateway;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGatewayGuard;
+import io.github.lucasmbc.ecommerceapi.service.payment.SimulatedPaymentGateway;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shows what a degraded acquirer costs the payment workers with and without the
+ * {@link PaymentGatewayGuard}. A fixed pool of workers, sized like {@code payment.processing.workers},
+ * calls a simulated gateway where a share of calls fail or hang; the report shows how long each
+ * worker was tied up per payment and how many calls reached the acquirer.
+ * <p>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.lucasmbc.ecommerceapi.benchmark.PaymentGatewayBenchmark}.
+ * Tune with {@code -Dbenchmark.workers}, {@code -Dbenchmark.duration} (seconds),
+ * {@code -Dbenchmark.errorRate} and {@code -Dbenchmark.slowRate}.
+ */
+public class PaymentGatewayBenchmark {
+
+    private static final PaymentAuthorization AUTHORIZATION =
+            new PaymentAuthorization(UUID.randomUUID(), UUID.randomUUID(), PaymentType.PIX, BigDecimal.TEN);
+
+    public static void main(String[] args) throws Exception {
+        int workers = Integer.getInteger("benchmark.workers", 16);
+        int durationSeconds = Integer.getInteger("benchmark.duration", 20);
+        double errorRate = Double.parseDouble(System.getProperty("benchmark.errorRate", "0.5"));
+        double slowRate = Double.parseDouble(System.getProperty("benchmark.slowRate", "0.2"));
+
+        AtomicLong directCalls = new AtomicLong();
+        Result direct = run(workers, durationSeconds, faultyGateway(errorRate, slowRate, directCalls), directCalls);
+
+        AtomicLong guardedCalls = new AtomicLong();
+        Result guarded;
+        try (PaymentGatewayGuard guard = PaymentConfig.createPaymentGatewayGuard(faultyGateway(errorRate, slowRate, guardedCalls),
+                Duration.ofSeconds(2), workers, 50, 20, 10, Duration.ofSeconds(5))) {
+            guarded = run(workers, durationSeconds, guard::authorize, guardedCalls);
+        }
+
+        System.out.printf("%n%-8s %10s %10s %10s %10s %12s%n", "mode", "attempts", "p50 ms", "p99 ms", "max ms", "gateway calls");
+        System.out.println(direct.format("direct"));
+        System.out.println(guarded.format("guarded"));
+    }
+
+    private static Result run(int workers, int durationSeconds, PaymentGateway gateway, AtomicLong gatewayCalls) {
+        Recorder recorder = new Recorder(3);
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            for (int i = 0; i < workers; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            gateway.authorize(AUTHORIZATION);
+                        } catch (RuntimeException ignored) {
+                            // Failures are expected; only the time spent matters here.
+                        }
+                        recorder.recordValue(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        return new Result(recorder.getIntervalHistogram(), gatewayCalls.get());
+    }
+
+    private static PaymentGateway faultyGateway(double errorRate, double slowRate, AtomicLong calls) {
+        SimulatedPaymentGateway acquirer = new SimulatedPaymentGateway(Duration.ofMillis(50), Duration.ofMillis(150), BigDecimal.valueOf(10_000));
+        PaymentGateway faulty = new FaultInjectingPaymentGateway(acquirer, errorRate, slowRate, Duration.ofSeconds(30));
+        return authorization -> {
+            calls.incrementAndGet();
+            return faulty.authorize(authorization);
+        };
+    }
+
+    private record Result(Histogram histogram, long gatewayCalls) {
+
+        String format(String mode) {
+            return String.format("%-8s %10d %10.2f %10.2f %10.2f %12d", mode, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getMaxValue() / 1e6, gatewayCalls);
+        }
+    }
+}
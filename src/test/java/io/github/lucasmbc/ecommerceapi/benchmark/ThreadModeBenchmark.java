@@ -0,0 +1,156 @@
+package io.github.lucasmbc.ecommerceapi.benchmark;
+
+import io.github.lucasmbc.ecommerceapi.ECommerceApiApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares request handling on Tomcat's platform-thread pool against virtual threads. Each mode
+ * boots the application on a random port against an in-memory H2 database, seeds a catalog and
+ * then drives GET /products and GET /products/{id} from many concurrent clients.
+ * <p>
+ * Run from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.lucasmbc.ecommerceapi.benchmark.ThreadModeBenchmark}.
+ * Tune with {@code -Dbenchmark.clients}, {@code -Dbenchmark.duration} (seconds) and
+ * {@code -Dbenchmark.products}.
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 1000);
+        int durationSeconds = Integer.getInteger("benchmark.duration", 30);
+        int products = Integer.getInteger("benchmark.products", 500);
+
+        Result platform = run(false, clients, durationSeconds, products);
+        Result virtual = run(true, clients, durationSeconds, products);
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "mode", "ok/s", "p50 ms", "p99 ms", "max ms", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+    }
+
+    private static Result run(boolean virtualThreads, int clients, int durationSeconds, int products) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceApiApplication.class)
+                .profiles(virtualThreads ? "virtual-threads" : "default")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.datasource.hikari.maximum-pool-size=40",
+                        "logging.level.root=WARN")
+                .run()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            List<String> productIds = seed(client, baseUrl, products);
+
+            warmUp(client, baseUrl, productIds);
+            return drive(client, baseUrl, productIds, clients, Duration.ofSeconds(durationSeconds));
+        }
+    }
+
+    private static List<String> seed(HttpClient client, String baseUrl, int products) throws Exception {
+        String category = post(client, baseUrl + "/categories", "{\"name\":\"Benchmark\"}");
+        String categoryId = extractId(category);
+
+        List<String> ids = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String body = "{\"name\":\"Product " + i + "\",\"price\":10.00,\"stock\":1000,\"categoryId\":\"" + categoryId + "\"}";
+            ids.add(extractId(post(client, baseUrl + "/products", body)));
+        }
+        return ids;
+    }
+
+    private static void warmUp(HttpClient client, String baseUrl, List<String> productIds) throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            client.send(nextRequest(baseUrl, productIds), HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    private static Result drive(HttpClient client, String baseUrl, List<String> productIds, int clients, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        boolean succeeded;
+                        try {
+                            succeeded = client.send(nextRequest(baseUrl, productIds), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception ex) {
+                            succeeded = false;
+                        }
+                        // Rejections and timeouts are counted, not timed, so they cannot flatter or skew the percentiles.
+                        if (succeeded) {
+                            recorder.recordValue(System.nanoTime() - start);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        Histogram latencies = recorder.getIntervalHistogram();
+        return new Result(latencies.getTotalCount() / (double) duration.toSeconds(), latencies, errors.get());
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, List<String> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = random.nextInt(4) == 0
+                ? "/products?size=20"
+                : "/products/" + productIds.get(random.nextInt(productIds.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private static String post(HttpClient client, String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static String extractId(String json) {
+        Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + json);
+        }
+        return matcher.group(1);
+    }
+
+    private record Result(double throughput, Histogram latencies, long errors) {
+
+        String format(String mode) {
+            return String.format("%-10s %12.1f %10.2f %10.2f %10.2f %8d",
+                    mode, throughput, latencies.getValueAtPercentile(50) / 1e6, latencies.getValueAtPercentile(99) / 1e6,
+                    latencies.getMaxValue() / 1e6, errors);
+        }
+    }
+}
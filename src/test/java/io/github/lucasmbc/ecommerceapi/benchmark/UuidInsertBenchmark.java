@@ -0,0 +1,113 @@
+package io.github.lucasmbc.ecommerceapi.benchmark;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.id.TimeOrderedUuid;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares insert throughput into an InnoDB table keyed by random (v4) and time-ordered (v7) UUIDs
+ * stored as {@code BINARY(16)}. Each run recreates its table, inserts the rows in batched transactions
+ * and prints the throughput of every interval, so the slowdown of random keys once the index no longer
+ * fits in the buffer pool is visible, followed by the final size of the table and its indexes.
+ * <p>
+ * Needs a MySQL instance; run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.lucasmbc.ecommerceapi.benchmark.UuidInsertBenchmark}.
+ * Tune with {@code -Dbenchmark.url}, {@code -Dbenchmark.user}, {@code -Dbenchmark.password},
+ * {@code -Dbenchmark.rows}, {@code -Dbenchmark.batchSize} and {@code -Dbenchmark.reportEvery}.
+ */
+public class UuidInsertBenchmark {
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("benchmark.url",
+                "jdbc:mysql://localhost:3307/ecommerce?rewriteBatchedStatements=true&useSSL=false&serverTimezone=UTC");
+        String user = System.getProperty("benchmark.user", "root");
+        String password = System.getProperty("benchmark.password", System.getenv("DB_PASSWORD"));
+        long rows = Long.getLong("benchmark.rows", 10_000_000L);
+        int batchSize = Integer.getInteger("benchmark.batchSize", 1_000);
+        long reportEvery = Long.getLong("benchmark.reportEvery", 1_000_000L);
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            Result random = run(connection, "uuid_bench_v4", UUID::randomUUID, rows, batchSize, reportEvery);
+            Result ordered = run(connection, "uuid_bench_v7", TimeOrderedUuid::generate, rows, batchSize, reportEvery);
+
+            System.out.printf("%n%-6s %12s %12s %14s%n", "keys", "rows", "rows/s", "size MB");
+            System.out.println(random.format("v4"));
+            System.out.println(ordered.format("v7"));
+        }
+    }
+
+    private static Result run(Connection connection, String table, Supplier<UUID> ids, long rows, int batchSize,
+                              long reportEvery) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id BINARY(16) NOT NULL PRIMARY KEY, "
+                    + "customer_id BINARY(16) NOT NULL, created_at DATETIME(6) NOT NULL, payload VARCHAR(100) NOT NULL) "
+                    + "ENGINE=InnoDB");
+        }
+
+        connection.setAutoCommit(false);
+        UUID customerId = UUID.randomUUID();
+        long start = System.nanoTime();
+        long intervalStart = start;
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, customer_id, created_at, payload) VALUES (?, ?, NOW(6), ?)")) {
+            for (long i = 1; i <= rows; i++) {
+                insert.setBytes(1, toBytes(ids.get()));
+                insert.setBytes(2, toBytes(customerId));
+                insert.setString(3, "row " + i);
+                insert.addBatch();
+
+                if (i % batchSize == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (i % reportEvery == 0) {
+                    long now = System.nanoTime();
+                    System.out.printf("%s %,12d rows  %,10.0f rows/s%n", table, i, reportEvery / ((now - intervalStart) / 1e9));
+                    intervalStart = now;
+                }
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new Result(rows, rows / seconds, sizeInMegabytes(connection, table));
+    }
+
+    private static double sizeInMegabytes(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+        }
+        try (PreparedStatement query = connection.prepareStatement("SELECT data_length + index_length FROM information_schema.tables "
+                + "WHERE table_schema = DATABASE() AND table_name = ?")) {
+            query.setString(1, table);
+            try (ResultSet resultSet = query.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) / (1024.0 * 1024.0) : 0;
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private record Result(long rows, double rowsPerSecond, double sizeInMegabytes) {
+
+        String format(String keys) {
+            return String.format("%-6s %,12d %,12.0f %,14.1f", keys, rows, rowsPerSecond, sizeInMegabytes);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaPoolDataSource pool;
+    private ReplicaHealthMonitor monitor;
+    private DataSource routing;
+    private JdbcTemplate routed;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primaryDataSource = database("primary");
+        DataSource replicaDataSource = database("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        pool = new ReplicaPoolDataSource(primaryDataSource, List.of(new ReplicaPoolDataSource.Replica("replica-1", replicaDataSource)));
+        monitor = new ReplicaHealthMonitor(pool, Duration.ofSeconds(5));
+
+        routing = ReplicaDataSourceConfig.routingDataSource(primaryDataSource, pool);
+        routed = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("JUnit test should send read-only transactions to a healthy replica and everything else to the primary")
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        monitor.check();
+
+        assertTrue(pool.getReplicas().getFirst().isHealthy());
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+        assertEquals("primary", readWriteTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @DisplayName("JUnit test should keep reads on the primary until the replica passes a health check")
+    @Test
+    void shouldReadFromPrimary_BeforeFirstHealthCheck() {
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @DisplayName("JUnit test should fall back to the primary when the replica lags behind")
+    @Test
+    void shouldFallBackToPrimary_WhenReplicaLags() {
+        replica.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(Instant.now().minusSeconds(60)));
+
+        monitor.check();
+
+        assertFalse(pool.getReplicas().getFirst().isHealthy());
+        assertTrue(pool.getReplicas().getFirst().getLag().compareTo(Duration.ofSeconds(55)) > 0);
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @DisplayName("JUnit test should fall back to the primary when the replica cannot be queried")
+    @Test
+    void shouldFallBackToPrimary_WhenReplicaIsDown() {
+        monitor.check();
+        replica.execute("DROP TABLE replication_heartbeat");
+
+        monitor.check();
+
+        assertFalse(pool.getReplicas().getFirst().isHealthy());
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @DisplayName("JUnit test should write the heartbeat to the primary on every check")
+    @Test
+    void shouldWriteHeartbeatToPrimary() {
+        Timestamp before = primary.queryForObject(ReplicaHealthMonitor.READ_HEARTBEAT, Timestamp.class);
+
+        monitor.check();
+
+        assertTrue(primary.queryForObject(ReplicaHealthMonitor.READ_HEARTBEAT, Timestamp.class).after(before));
+    }
+
+    @DisplayName("JUnit test should read a recently written key from the primary inside a read-only transaction")
+    @Test
+    void shouldReadRecentWritesFromPrimary() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(10));
+        UUID written = UUID.randomUUID();
+        readYourWrites.recordWrite(written);
+        monitor.check();
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> readYourWrites.read(written, this::node)));
+        assertEquals("replica", readOnlyTransaction.execute(status -> readYourWrites.read(UUID.randomUUID(), this::node)));
+    }
+
+    @DisplayName("JUnit test should route read-only JPA transactions to the replica once the session is marked read-only")
+    @Test
+    void shouldRouteReadOnlyJpaTransactionsToReplica() {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(routing);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReplicaRoutingTest.class.getPackageName());
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+            TransactionTemplate jpaReadWrite = new TransactionTemplate(transactionManager);
+            monitor.check();
+
+            assertEquals("replica", jpaReadOnly.execute(status -> entityManager.createNativeQuery("SELECT name FROM node").getSingleResult()));
+            assertEquals("primary", jpaReadWrite.execute(status -> entityManager.createNativeQuery("SELECT name FROM node").getSingleResult()));
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @DisplayName("JUnit test should keep a client on the primary at another instance after it wrote through this one")
+    @Test
+    void shouldReadRecentWritesFromPrimary_OnAnotherInstance() {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        new ReadYourWrites(Duration.ofSeconds(10)).recordWrite(UUID.randomUUID());
+        String setCookie = writeResponse.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(setCookie);
+        monitor.check();
+
+        ReadYourWrites otherInstance = new ReadYourWrites(Duration.ofSeconds(10));
+        MockHttpServletRequest readRequest = new MockHttpServletRequest();
+        readRequest.setCookies(new Cookie(ReadYourWrites.COOKIE, writeResponse.getCookie(ReadYourWrites.COOKIE).getValue()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(readRequest, new MockHttpServletResponse()));
+        assertEquals("primary", readOnlyTransaction.execute(status -> otherInstance.read(UUID.randomUUID(), this::node)));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        assertEquals("replica", readOnlyTransaction.execute(status -> otherInstance.read(UUID.randomUUID(), this::node)));
+    }
+
+    @DisplayName("JUnit test should apply the spring.datasource.hikari settings to the primary pool")
+    @Test
+    void shouldBindHikariSettingsToPrimaryPool() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(DataSourcePropertiesConfig.class, ReplicaDataSourceConfig.class)
+                .withPropertyValues("datasource.replicas.enabled=true",
+                        "datasource.replicas.urls=jdbc:h2:mem:replica",
+                        "spring.datasource.url=jdbc:h2:mem:primary",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.hikari.maximum-pool-size=40",
+                        "spring.datasource.hikari.minimum-idle=5",
+                        "spring.datasource.hikari.connection-timeout=3000")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    HikariDataSource primaryPool = context.getBean("primaryDataSource", HikariDataSource.class);
+                    assertEquals("primary", primaryPool.getPoolName());
+                    assertEquals("jdbc:h2:mem:primary", primaryPool.getJdbcUrl());
+                    assertEquals(40, primaryPool.getMaximumPoolSize());
+                    assertEquals(5, primaryPool.getMinimumIdle());
+                    assertEquals(3000, primaryPool.getConnectionTimeout());
+                });
+    }
+
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    static class DataSourcePropertiesConfig {
+    }
+
+    private String node() {
+        return routed.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(Instant.now().minusMillis(100)));
+        return dataSource;
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestConcurrencyLimitFilterTest {
+
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+    @Test
+    @DisplayName("Should reject with 503 when every permit is in use")
+    void shouldRejectWhenSaturated() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), outer, (request, response) -> {
+            MockHttpServletResponse inner = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/products"), inner, (req, res) -> {});
+            nested.set(inner);
+        });
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the request completes")
+    void shouldReleasePermit() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse(), (request, response) -> {});
+
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Should size the limit from the connection pool by default")
+    void shouldDefaultLimitToPoolSize() {
+        // The application converts "2s" style durations with its conversion service; a bare runner has none.
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withUserConfiguration(VirtualThreadConfig.class)
+                .withPropertyValues("spring.threads.virtual.enabled=true", "spring.datasource.hikari.maximum-pool-size=7")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    FilterRegistrationBean<?> registration = context.getBean(FilterRegistrationBean.class);
+                    assertEquals(7, ((RequestConcurrencyLimitFilter) registration.getFilter()).availablePermits());
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.lucasmbc.ecommerceapi.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SchemaIndexVerifier.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaIndexVerifierTest {
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("JUnit test should find every mapped index in the generated schema")
+    @Test
+    void shouldFindNoMissingIndexes_WhenSchemaMatchesMappings() {
+        assertTrue(schemaIndexVerifier.findMissingIndexes().isEmpty());
+    }
+
+    @DisplayName("JUnit test should report an index the mappings need but the database lacks")
+    @Test
+    void shouldReportMissingIndex_WhenIndexIsDropped() throws SQLException {
+        execute("DROP INDEX idx_payment_status_date");
+        try {
+            assertEquals(1, schemaIndexVerifier.findMissingIndexes().size());
+            assertTrue(schemaIndexVerifier.findMissingIndexes().contains("payment(status, payment_date)"));
+            assertThrows(IllegalStateException.class, () -> schemaIndexVerifier.afterSingletonsInstantiated());
+        } finally {
+            execute("CREATE INDEX idx_payment_status_date ON payment (status, payment_date)");
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartLineResultResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
 import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
@@ -174,6 +175,28 @@ class CartControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Product not found")));
     }
 
+    @Test
+    @DisplayName("POST /carts/{customerId}/items:batch should return a result per line")
+    void addItems_ShouldReturnLineResults() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        given(cartService.addItems(eq(customer.getId()), anyList())).willReturn(List.of(
+                new CartLineResultResponseDTO(product.getId(), 2, "ADDED", null),
+                new CartLineResultResponseDTO(missingId, 1, "PRODUCT_NOT_FOUND", "Product not found")));
+
+        String body = "[{\"id\":\"" + product.getId() + "\",\"quantity\":2},{\"id\":\"" + missingId + "\",\"quantity\":1}]";
+
+        ResultActions response = mockMvc.perform(post("/carts/{customerId}/items:batch", customer.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is("ADDED")))
+                .andExpect(jsonPath("$[1].status", is("PRODUCT_NOT_FOUND")))
+                .andExpect(jsonPath("$[1].message", is("Product not found")));
+    }
+
     @Test
     @DisplayName("GET /carts/{customerId} should return cart items when valid ID is provided")
     void getCartById_ShouldReturnCartItems_WhenValidIdProvided() throws Exception {
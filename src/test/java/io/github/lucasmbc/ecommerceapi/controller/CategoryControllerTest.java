@@ -2,6 +2,7 @@ package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.CategoryRequestDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.service.CatalogVersion;
 import io.github.lucasmbc.ecommerceapi.service.CategoryService;
 import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoryController.class)
+@Import(CatalogHttpCache.class)
 class CategoryControllerTest {
 
     @Autowired
@@ -39,6 +43,9 @@ class CategoryControllerTest {
     @MockitoBean
     private CategoryService categoryService;
 
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
     private CategoryRequestDTO dto;
     private Category category;
 
@@ -240,4 +247,33 @@ class CategoryControllerTest {
         response.andDo(print())
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /categories/{id} should return 304 without reading the category when the ETag matches")
+    void getCategoryById_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        given(catalogVersion.current()).willReturn(7L);
+
+        ResultActions response = mockMvc.perform(get("/categories/{id}", category.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"catalog-7\""));
+
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-7\""));
+        verify(categoryService, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("GET /categories should return the catalog ETag and Cache-Control headers")
+    void getAllCategories_ShouldReturnCacheHeaders() throws Exception {
+        given(catalogVersion.current()).willReturn(7L);
+        given(categoryService.findAll()).willReturn(List.of(category));
+
+        ResultActions response = mockMvc.perform(get("/categories"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"catalog-7\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("stale-while-revalidate=30")))
+                .andExpect(jsonPath("$[0].name", is(category.getName())));
+    }
+}
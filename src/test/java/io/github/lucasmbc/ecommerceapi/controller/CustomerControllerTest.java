@@ -1,7 +1,11 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
 import io.github.lucasmbc.ecommerceapi.service.CustomerService;
+import io.github.lucasmbc.ecommerceapi.service.OrderQueryService;
 import io.github.lucasmbc.ecommerceapi.service.exception.CpfAlreadyExistsException;
 import io.github.lucasmbc.ecommerceapi.service.exception.EmailAlreadyExistsException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
@@ -16,6 +20,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import tools.jackson.databind.ObjectMapper;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -39,6 +45,9 @@ class CustomerControllerTest {
     @MockitoBean
     private CustomerService customerService;
 
+    @MockitoBean
+    private OrderQueryService orderQueryService;
+
     private Customer customer;
 
     @BeforeEach
@@ -51,6 +60,34 @@ class CustomerControllerTest {
         customer.setCpf("892.334.220-38");
     }
 
+    @Test
+    @DisplayName("GET /customers/{id}/orders should return a page of order summaries")
+    void findOrders_ShouldReturnOrderHistoryPage() throws Exception {
+        var summary = new OrderSummaryResponseDTO(UUID.randomUUID(), LocalDateTime.of(2024, 1, 1, 10, 0), "PAID", BigDecimal.TEN, 2L);
+        given(orderQueryService.findHistory(customer.getId(), OrderStatus.PAID, "abc", 10))
+                .willReturn(new PageResponseDTO<>(List.of(summary), "next"));
+
+        mockMvc.perform(get("/customers/{id}/orders", customer.getId())
+                        .param("status", "PAID")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is(summary.id().toString())))
+                .andExpect(jsonPath("$.items[0].status", is("PAID")))
+                .andExpect(jsonPath("$.items[0].itemCount", is(2)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    @DisplayName("GET /customers/{id}/orders should return 404 when the customer does not exist")
+    void findOrders_ShouldReturn404_WhenCustomerNotFound() throws Exception {
+        given(orderQueryService.findHistory(customer.getId(), null, null, null)).willThrow(new NotFoundException("Customer not found"));
+
+        mockMvc.perform(get("/customers/{id}/orders", customer.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Customer not found")));
+    }
+
     private String createInvalidJson(String name, String email, String password, String cpf) {
         return String.format("""
         {
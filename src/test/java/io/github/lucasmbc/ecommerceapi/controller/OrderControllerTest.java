@@ -1,17 +1,26 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import io.github.lucasmbc.ecommerceapi.domain.repository.IdempotencyRecordRepository;
+import io.github.lucasmbc.ecommerceapi.service.IdempotencyService;
+import io.github.lucasmbc.ecommerceapi.service.OrderQueryService;
 import io.github.lucasmbc.ecommerceapi.service.OrderService;
+import io.github.lucasmbc.ecommerceapi.service.exception.InsufficientStockException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.exception.StockShortage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
 import tools.jackson.databind.ObjectMapper;
 
 import java.math.BigDecimal;
@@ -22,11 +31,13 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
+@Import(IdempotencyService.class)
 class OrderControllerTest {
 
     @Autowired
@@ -38,6 +49,15 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderQueryService orderQueryService;
+
+    @MockitoBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
     private Customer customer;
 
     @BeforeEach
@@ -87,6 +107,64 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.message", is("Cart not found")));
     }
 
+    @Test
+    @DisplayName("POST /orders/{customerId} should return 409 with the shortage of each line when stock is insufficient")
+    void createOrder_ShouldReturn409_WhenStockIsInsufficient() throws Exception {
+        var shortage = new StockShortage(UUID.randomUUID(), "Product 1", 3, 1);
+        given(orderService.checkout(customer.getId())).willThrow(new InsufficientStockException(List.of(shortage)));
+
+        ResultActions response = mockMvc.perform(
+                post("/orders/{customerId}", customer.getId()).contentType(MediaType.APPLICATION_JSON)
+        );
+
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Insufficient stock")))
+                .andExpect(jsonPath("$.shortages", hasSize(1)))
+                .andExpect(jsonPath("$.shortages[0].productName", is("Product 1")))
+                .andExpect(jsonPath("$.shortages[0].requested", is(3)))
+                .andExpect(jsonPath("$.shortages[0].available", is(1)));
+    }
+
+    @Test
+    @DisplayName("GET /orders/{id} should return the order with its lines")
+    void findById_ShouldReturnOrderDetail() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        given(orderQueryService.findDetail(orderId)).willReturn(new OrderResponseDTO(orderId, BigDecimal.valueOf(100), "PENDING",
+                LocalDateTime.now(), List.of(new OrderItemResponseDTO("Product 1", 2, BigDecimal.valueOf(50)))));
+
+        mockMvc.perform(get("/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(orderId.toString())))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].productName", is("Product 1")));
+    }
+
+    @Test
+    @DisplayName("GET /orders/{id}/items should return the order lines")
+    void findItems_ShouldReturnOrderLines() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        given(orderQueryService.findItems(orderId)).willReturn(List.of(
+                new OrderItemResponseDTO("Product 1", 2, BigDecimal.valueOf(50.00))));
+
+        mockMvc.perform(get("/orders/{id}/items", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productName", is("Product 1")))
+                .andExpect(jsonPath("$[0].quantity", is(2)));
+    }
+
+    @Test
+    @DisplayName("GET /orders/{id}/items should return 404 when the order does not exist")
+    void findItems_ShouldReturn404_WhenOrderNotFound() throws Exception {
+        UUID orderId = UUID.randomUUID();
+        given(orderQueryService.findItems(orderId)).willThrow(new NotFoundException("Order not found"));
+
+        mockMvc.perform(get("/orders/{id}/items", orderId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Order not found")));
+    }
+
     private Order createMockOrder(UUID customerId) {
         Order order = new Order();
         order.setId(UUID.randomUUID());
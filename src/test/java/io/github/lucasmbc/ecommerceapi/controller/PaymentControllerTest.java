@@ -1,32 +1,46 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import io.github.lucasmbc.ecommerceapi.domain.repository.IdempotencyRecordRepository;
+import io.github.lucasmbc.ecommerceapi.service.IdempotencyService;
 import io.github.lucasmbc.ecommerceapi.service.PaymentService;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ServiceUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
-import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PaymentController.class)
+@Import(IdempotencyService.class)
 class PaymentControllerTest {
 
     @Autowired
@@ -35,16 +49,22 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentService paymentService;
 
+    @MockitoBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
     private Payment payment;
 
     @BeforeEach
     void setUp() {
-        payment = createMockPayment(PaymentType.PIX, PaymentStatus.APPROVED);
+        payment = createMockPayment(PaymentType.PIX, PaymentStatus.PENDING);
     }
 
     @Test
-    @DisplayName("POST /payments/{orderId} should return 201 Created")
-    void createPayment_ShouldReturn201Created_WhenPaySuccessful() throws Exception {
+    @DisplayName("POST /payments/{orderId} should return 202 Accepted with the status URL")
+    void createPayment_ShouldReturn202Accepted_WhenPaymentSubmitted() throws Exception {
 
         given(paymentService.pay(payment.getOrder().getId(), payment.getPaymentType())).willReturn(payment);
 
@@ -55,10 +75,8 @@ class PaymentControllerTest {
         );
 
         response.andDo(print())
-                .andExpect(status().isCreated())
-                .andExpect(header().exists("Location"))
-                .andExpect(header().string("Location",
-                        containsString("/payments/" + payment.getOrder().getId() + "/" + payment.getId().toString())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/payments/" + payment.getOrder().getId())))
                 .andExpect(jsonPath("$.orderId", is(payment.getOrder().getId().toString())))
                 .andExpect(jsonPath("$.status", is(payment.getStatus().toString())))
                 .andExpect(jsonPath("$.paymentType", is(payment.getPaymentType().toString())))
@@ -82,6 +100,95 @@ class PaymentControllerTest {
                 .andExpect(jsonPath("$.message", is("Order not found")));
     }
 
+    @Test
+    @DisplayName("POST /payments/{orderId} should replay the first response when the Idempotency-Key is reused")
+    void createPayment_ShouldReplayResponse_WhenIdempotencyKeyIsReused() throws Exception {
+
+        given(paymentService.pay(payment.getOrder().getId(), payment.getPaymentType())).willReturn(payment);
+        storeIdempotencyClaims();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(
+                            post("/payments/{orderId}", payment.getOrder().getId())
+                                    .param("paymentType", payment.getPaymentType().toString())
+                                    .header(IdempotencyService.HEADER, "payment-key-1")
+                                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", endsWith("/payments/" + payment.getOrder().getId())))
+                    .andExpect(jsonPath("$.orderId", is(payment.getOrder().getId().toString())));
+        }
+
+        verify(paymentService, times(1)).pay(payment.getOrder().getId(), payment.getPaymentType());
+    }
+
+    @Test
+    @DisplayName("POST /payments/{orderId} should return 422 when the Idempotency-Key was used for another request")
+    void createPayment_ShouldReturn422_WhenIdempotencyKeyIsReusedForAnotherRequest() throws Exception {
+
+        given(paymentService.pay(payment.getOrder().getId(), payment.getPaymentType())).willReturn(payment);
+        storeIdempotencyClaims();
+
+        mockMvc.perform(
+                        post("/payments/{orderId}", payment.getOrder().getId())
+                                .param("paymentType", PaymentType.PIX.toString())
+                                .header(IdempotencyService.HEADER, "payment-key-2"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(
+                        post("/payments/{orderId}", payment.getOrder().getId())
+                                .param("paymentType", PaymentType.CREDIT_CARD.toString())
+                                .header(IdempotencyService.HEADER, "payment-key-2"))
+                .andExpect(status().isUnprocessableContent());
+    }
+
+    @Test
+    @DisplayName("POST /payments/{orderId} should return 503 with Retry-After while the gateway circuit is open")
+    void createPayment_ShouldReturn503_WhenGatewayIsUnavailable() throws Exception {
+
+        given(paymentService.pay(payment.getOrder().getId(), payment.getPaymentType()))
+                .willThrow(new ServiceUnavailableException("Payment provider is unavailable, try again later", Duration.ofSeconds(30)));
+
+        mockMvc.perform(
+                        post("/payments/{orderId}", payment.getOrder().getId())
+                                .param("paymentType", payment.getPaymentType().toString()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.message", is("Payment provider is unavailable, try again later")));
+    }
+
+    @Test
+    @DisplayName("GET /payments/{orderId} should return the current payment status")
+    void getPayment_ShouldReturnStatus() throws Exception {
+        payment.setStatus(PaymentStatus.APPROVED);
+        given(paymentService.findByOrderId(payment.getOrder().getId())).willReturn(payment);
+
+        mockMvc.perform(get("/payments/{orderId}", payment.getOrder().getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId", is(payment.getOrder().getId().toString())))
+                .andExpect(jsonPath("$.status", is("APPROVED")));
+    }
+
+    @Test
+    @DisplayName("GET /payments/{orderId} should return 404 when the order has no payment")
+    void getPayment_ShouldReturn404_WhenPaymentNotFound() throws Exception {
+        given(paymentService.findByOrderId(payment.getOrder().getId())).willThrow(new NotFoundException("Payment not found"));
+
+        mockMvc.perform(get("/payments/{orderId}", payment.getOrder().getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Payment not found")));
+    }
+
+    private void storeIdempotencyClaims() {
+        Map<String, IdempotencyRecord> claims = new HashMap<>();
+        given(idempotencyRecordRepository.saveAndFlush(any())).willAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            claims.put(record.getKey(), record);
+            return record;
+        });
+        given(idempotencyRecordRepository.findByKeyForUpdate(any()))
+                .willAnswer(invocation -> Optional.ofNullable(claims.get(invocation.<String>getArgument(0))));
+    }
+
     private Payment createMockPayment(PaymentType paymentType, PaymentStatus paymentStatus) {
         Order order = createOrder();
         Payment payment = new Payment();
@@ -1,8 +1,13 @@
 package io.github.lucasmbc.ecommerceapi.controller;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.ProductRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import io.github.lucasmbc.ecommerceapi.service.CatalogVersion;
+import io.github.lucasmbc.ecommerceapi.service.ProductExportService;
 import io.github.lucasmbc.ecommerceapi.service.ProductService;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,18 +15,28 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import tools.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.*;
 import static org.mockito.BDDMockito.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -29,6 +44,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import(CatalogHttpCache.class)
 class ProductControllerTest {
 
     @Autowired
@@ -40,6 +56,12 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
     private Product savedProduct;
     private Category category;
     private ProductRequestDTO dto;
@@ -141,28 +163,114 @@ class ProductControllerTest {
     }
 
     @Test
-    @DisplayName("GET /products should return 200 OK and product list")
+    @DisplayName("GET /products should return 200 OK and first page of products")
     void getAllProducts_ShouldReturnProductList() throws Exception {
-        List<Product> productList = new ArrayList<>();
-
         Product product2 = createProduct("MacBook", "MacBook description", BigDecimal.valueOf(6500), "https://placeimg.com/640/480", 20, category);
 
-        productList.add(savedProduct);
-        productList.add(product2);
+        var page = new PageResponseDTO<>(List.of(ProductMapper.toResponse(savedProduct), ProductMapper.toResponse(product2)), "next-cursor");
+
+        given(productService.findAll(null, null, null)).willReturn(page);
+
+        ResultActions response = mockMvc.perform(get("/products"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()", is(page.items().size())))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+    }
 
-        given(productService.findAll()).willReturn(productList);
+    @Test
+    @DisplayName("GET /products should return the catalog ETag and Cache-Control headers")
+    void getAllProducts_ShouldReturnCacheHeaders() throws Exception {
+        given(catalogVersion.current()).willReturn(7L);
+        given(productService.findAll(null, null, null)).willReturn(new PageResponseDTO<>(List.of(ProductMapper.toResponse(savedProduct)), null));
 
         ResultActions response = mockMvc.perform(get("/products"));
 
         response.andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", is(productList.size())));
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"catalog-7-")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=60")));
+    }
+
+    @Test
+    @DisplayName("GET /products should return 304 without reading products again when the ETag matches")
+    void getAllProducts_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        given(catalogVersion.current()).willReturn(7L);
+        given(productService.findAll(null, null, null)).willReturn(new PageResponseDTO<>(List.of(ProductMapper.toResponse(savedProduct)), null));
+        String etag = mockMvc.perform(get("/products")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions response = mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andExpect(content().string(""));
+        verify(productService, times(1)).findAll(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /products/{id} should return 304 without reading the product when its ETag matches")
+    void getProductById_ShouldReturnNotModified_WhenEtagMatches() throws Exception {
+        given(catalogVersion.forProduct(savedProduct.getId())).willReturn(Optional.of("7-10"));
+
+        ResultActions response = mockMvc.perform(get("/products/{id}", savedProduct.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"product-7-10\""));
+
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"product-7-10\""));
+        verify(productService, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("GET /products/{id} should return 200 with a new ETag once the product's stock changed")
+    void getProductById_ShouldReturnProduct_WhenStockChangedSinceEtag() throws Exception {
+        given(catalogVersion.forProduct(savedProduct.getId())).willReturn(Optional.of("7-9"));
+        given(productService.findById(savedProduct.getId())).willReturn(ProductMapper.toResponse(savedProduct));
+
+        ResultActions response = mockMvc.perform(get("/products/{id}", savedProduct.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"product-7-10\""));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"product-7-9\""))
+                .andExpect(jsonPath("$.name", is(savedProduct.getName())));
+    }
+
+    @Test
+    @DisplayName("GET /products should pass cursor and size to the service")
+    void getAllProducts_ShouldPassCursorAndSize() throws Exception {
+        var page = new PageResponseDTO<>(List.of(ProductMapper.toResponse(savedProduct)), null);
+
+        given(productService.findAll(null, "abc", 1)).willReturn(page);
+
+        ResultActions response = mockMvc.perform(get("/products").param("cursor", "abc").param("size", "1"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.size()", is(1)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /products should filter by category when categoryId is provided")
+    void getAllProducts_ShouldFilterByCategory() throws Exception {
+        var page = new PageResponseDTO<>(List.of(ProductMapper.toResponse(savedProduct)), null);
+
+        given(productService.findAll(category.getId(), null, null)).willReturn(page);
+
+        ResultActions response = mockMvc.perform(get("/products").param("categoryId", category.getId().toString()));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].categoryId", is(category.getId().toString())));
     }
 
     @Test
     @DisplayName("GET /products should return 404 NotFoundException when product is empty")
     void getAllProducts_ShouldReturnNotFoundException_WhenEmpty() throws Exception {
-        given(productService.findAll()).willThrow(new NotFoundException("Products not found"));
+        given(productService.findAll(null, null, null)).willThrow(new NotFoundException("Products not found"));
 
         ResultActions response = mockMvc.perform(get("/products"));
 
@@ -171,10 +279,97 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Products not found")));
     }
 
+    @Test
+    @DisplayName("GET /products/suggest should return suggestions for the prefix")
+    void suggestProducts_ShouldReturnSuggestions() throws Exception {
+        given(productService.suggest("iph", null))
+                .willReturn(List.of(new ProductSuggestionResponseDTO(savedProduct.getId(), savedProduct.getName())));
+
+        ResultActions response = mockMvc.perform(get("/products/suggest").param("prefix", "iph"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(savedProduct.getId().toString())))
+                .andExpect(jsonPath("$[0].name", is(savedProduct.getName())));
+    }
+
+    @Test
+    @DisplayName("GET /products/export should stream the catalog as NDJSON")
+    void exportProducts_ShouldStreamNdjson() throws Exception {
+        String lines = exportLines();
+        willAnswer(invocation -> {
+            try (OutputStream out = invocation.getArgument(0)) {
+                out.write(lines.getBytes(StandardCharsets.UTF_8));
+            }
+            return 1L;
+        }).given(productExportService).export(any(OutputStream.class), eq(false));
+
+        MvcResult result = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(lines));
+    }
+
+    @Test
+    @DisplayName("GET /products/export should gzip the stream when the client accepts it")
+    void exportProducts_ShouldGzip_WhenClientAcceptsGzip() throws Exception {
+        String lines = exportLines();
+        willAnswer(invocation -> {
+            try (OutputStream out = new GZIPOutputStream(invocation.getArgument(0))) {
+                out.write(lines.getBytes(StandardCharsets.UTF_8));
+            }
+            return 1L;
+        }).given(productExportService).export(any(OutputStream.class), eq(true));
+
+        MvcResult result = mockMvc.perform(get("/products/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult dispatched = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(dispatched.getResponse().getContentAsByteArray()))) {
+            assertEquals(lines, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        verify(productExportService, never()).export(any(OutputStream.class), eq(false));
+    }
+
+    @Test
+    @DisplayName("GET /products/export should not gzip the stream when the client refuses it with q=0")
+    void exportProducts_ShouldNotGzip_WhenClientRefusesGzip() throws Exception {
+        String lines = exportLines();
+        willAnswer(invocation -> {
+            try (OutputStream out = invocation.getArgument(0)) {
+                out.write(lines.getBytes(StandardCharsets.UTF_8));
+            }
+            return 1L;
+        }).given(productExportService).export(any(OutputStream.class), eq(false));
+
+        MvcResult result = mockMvc.perform(get("/products/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(lines));
+        verify(productExportService, never()).export(any(OutputStream.class), eq(true));
+    }
+
     @Test
     @DisplayName("GET /products/{id} should return product when valid ID is provided")
     void getProductById_ShouldReturnProduct_WhenValidIdProvided() throws Exception {
-        given(productService.findById(any(UUID.class))).willReturn(savedProduct);
+        given(productService.findById(any(UUID.class))).willReturn(ProductMapper.toResponse(savedProduct));
 
         ResultActions response = mockMvc.perform(get("/products/{id}", savedProduct.getId()));
 
@@ -310,4 +505,8 @@ class ProductControllerTest {
         productRequestDTO.setCategoryId(categoryId);
         return productRequestDTO;
     }
-}
\ No newline at end of file
+
+    private String exportLines() {
+        return objectMapper.writeValueAsString(ProductMapper.toResponse(savedProduct)) + "\n";
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.lucasmbc.ecommerceapi.domain.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidTest {
+
+    @DisplayName("JUnit test should generate RFC 9562 version 7 UUIDs")
+    @Test
+    void shouldGenerateVersion7Uuid() {
+        UUID uuid = TimeOrderedUuid.generate();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @DisplayName("JUnit test should embed the generation time in the UUID")
+    @Test
+    void shouldEmbedGenerationTime() {
+        Instant before = Instant.now().minusMillis(1);
+
+        Instant timestamp = TimeOrderedUuid.timestampOf(TimeOrderedUuid.generate());
+
+        assertFalse(timestamp.isBefore(before));
+        assertTrue(timestamp.isBefore(Instant.now().plus(Duration.ofSeconds(1))));
+    }
+
+    @DisplayName("JUnit test should generate unique ids in byte order even within the same millisecond")
+    @Test
+    void shouldGenerateMonotonicIds() {
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            generated.add(TimeOrderedUuid.generate());
+        }
+
+        // MySQL compares BINARY(16) byte by byte, which is the unsigned order of the two halves.
+        List<UUID> sorted = generated.stream()
+                .sorted(Comparator.comparing((UUID uuid) -> uuid.getMostSignificantBits(), Long::compareUnsigned)
+                        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned))
+                .toList();
+
+        assertEquals(generated, sorted);
+        assertEquals(generated.size(), new HashSet<>(generated).size());
+    }
+
+    @DisplayName("JUnit test should reject reading the timestamp of a random UUID")
+    @Test
+    void shouldRejectTimestampOfRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuid.timestampOf(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.service.CategoryCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CategoryCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Electronics");
+        categoryRepository.save(category);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test should serve repeated category lookups from the second-level cache")
+    @Test
+    void shouldHitSecondLevelCache_WhenCategoryIsReadAgain() {
+        categoryRepository.findById(category.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        Category cached = categoryRepository.findById(category.getId()).orElseThrow();
+
+        assertEquals("Electronics", cached.getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheConfig.CATEGORY_REGION).getHitCount());
+    }
+
+    @DisplayName("JUnit test should cache lookups by name in the category query region")
+    @Test
+    void shouldHitQueryCache_WhenNameIsQueriedAgain() {
+        categoryRepository.findByNameIgnoreCase("electronics");
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(categoryRepository.findByNameIgnoreCase("electronics").isPresent());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheConfig.CATEGORY_QUERY_REGION).getHitCount());
+    }
+
+    @DisplayName("JUnit test should see a renamed category through the query cache")
+    @Test
+    void shouldInvalidateQueryCache_WhenCategoryIsRenamed() {
+        assertTrue(categoryRepository.findByNameIgnoreCase("electronics").isPresent());
+
+        category.setName("Gadgets");
+        categoryRepository.save(category);
+
+        assertTrue(categoryRepository.findByNameIgnoreCase("electronics").isEmpty());
+        assertTrue(categoryRepository.findByNameIgnoreCase("gadgets").isPresent());
+    }
+
+    @DisplayName("JUnit test should drop the category from the cache when evicted")
+    @Test
+    void shouldMissCache_WhenCategoryIsEvicted() {
+        categoryRepository.findById(category.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Category.class, category.getId()));
+
+        categoryCache.evictAfterCommit(category.getId());
+
+        assertFalse(entityManagerFactory.getCache().contains(Category.class, category.getId()));
+    }
+}
@@ -46,4 +46,13 @@ public class CustomerRepositoryTest {
 
         assertTrue(exists);
     }
+
+    @DisplayName("JUnit test should assign a time-ordered id on insert")
+    @Test
+    void shouldAssignTimeOrderedId_WhenSaved() {
+        Customer saved = customerRepository.saveAndFlush(customer);
+
+        assertEquals(7, saved.getId().version());
+        assertTrue(customerRepository.findById(saved.getId()).isPresent());
+    }
 }
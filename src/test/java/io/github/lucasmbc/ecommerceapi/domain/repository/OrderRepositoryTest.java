@@ -1,29 +1,49 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
-import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
-import io.github.lucasmbc.ecommerceapi.domain.model.Order;
-import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class OrderRepositoryTest {
 
+    private static final int BATCH_SIZE = 50;
+
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Customer customer;
 
     @BeforeEach
@@ -63,4 +83,128 @@ class OrderRepositoryTest {
 
         assertFalse(orders.isEmpty());
     }
-}
\ No newline at end of file
+
+    @DisplayName("JUnit test should insert the lines of a 500-line order in JDBC batches")
+    @Test
+    void shouldBatchOrderItemInserts() {
+        Category category = new Category();
+        category.setName("Electronics");
+        entityManager.persist(category);
+
+        Product product = new Product();
+        product.setName("iPhone");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(1000);
+        product.setCategory(category);
+        productRepository.save(product);
+
+        Statistics statistics = clearAndGetStatistics();
+
+        Order order = new Order();
+        order.setCustomer(entityManager.getReference(Customer.class, customer.getId()));
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(BigDecimal.valueOf(5000));
+
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(entityManager.getReference(Product.class, product.getId()));
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.TEN);
+            items.add(item);
+        }
+        order.setItems(items);
+
+        orderRepository.save(order);
+        entityManager.flush();
+
+        assertEquals(501, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 1 + 500 / BATCH_SIZE,
+                "expected batched inserts but got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @DisplayName("JUnit test should page a customer's order history newest first without loading entities")
+    @Test
+    void shouldPageOrderSummariesByKeyset() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 4; i++) {
+            createOrder(base.plusDays(i), i % 2 == 0 ? OrderStatus.PAID : OrderStatus.PENDING);
+        }
+        // Same timestamp as the newest order, so the id has to break the tie.
+        createOrder(base.plusDays(3), OrderStatus.PAID);
+        Statistics statistics = clearAndGetStatistics();
+
+        List<OrderSummaryResponseDTO> firstPage = orderRepository.findSummariesByCustomerId(customer.getId(), Limit.of(2));
+        OrderSummaryResponseDTO last = firstPage.getLast();
+        List<OrderSummaryResponseDTO> secondPage = orderRepository.findSummariesByCustomerIdAfter(customer.getId(), last.orderDate(), last.id(), Limit.of(10));
+
+        List<OrderSummaryResponseDTO> all = new ArrayList<>(firstPage);
+        all.addAll(secondPage);
+        assertEquals(6, all.size());
+        assertEquals(6, all.stream().map(OrderSummaryResponseDTO::id).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).orderDate().isAfter(all.get(i - 1).orderDate()));
+        }
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        List<OrderSummaryResponseDTO> paid = orderRepository.findSummariesByCustomerIdAndStatus(customer.getId(), OrderStatus.PAID, Limit.of(10));
+        assertEquals(3, paid.size());
+        assertTrue(paid.stream().allMatch(order -> order.status().equals("PAID")));
+    }
+
+    @DisplayName("JUnit test should count order lines and project them by order")
+    @Test
+    void shouldProjectOrderItems() {
+        Category category = new Category();
+        category.setName("Electronics");
+        entityManager.persist(category);
+
+        Product product = new Product();
+        product.setName("iPhone");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(10);
+        product.setCategory(category);
+        productRepository.save(product);
+
+        Order order = createOrder(LocalDateTime.of(2030, 1, 1, 0, 0), OrderStatus.PENDING);
+        List<OrderItem> items = new ArrayList<>();
+        for (int quantity = 1; quantity <= 3; quantity++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            item.setUnitPrice(BigDecimal.TEN);
+            items.add(item);
+        }
+        order.setItems(items);
+        orderRepository.save(order);
+        clearAndGetStatistics();
+
+        OrderSummaryResponseDTO summary = orderRepository.findSummariesByCustomerId(customer.getId(), Limit.of(1)).getFirst();
+        List<OrderItemResponseDTO> lines = orderItemRepository.findResponsesByOrderId(order.getId());
+
+        assertEquals(order.getId(), summary.id());
+        assertEquals(3L, summary.itemCount());
+        assertEquals(3, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.productName().equals("iPhone")));
+    }
+
+    private Order createOrder(LocalDateTime orderDate, OrderStatus status) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(orderDate);
+        order.setStatus(status);
+        order.setTotal(BigDecimal.TEN);
+        return orderRepository.save(order);
+    }
+
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
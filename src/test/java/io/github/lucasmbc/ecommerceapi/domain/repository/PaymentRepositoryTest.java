@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -42,4 +44,29 @@ class PaymentRepositoryTest {
         assertNotNull(result);
         assertEquals(order.getId(), result.getOrder().getId());
     }
-}
\ No newline at end of file
+
+    @DisplayName("JUnit test should let one worker claim a pending payment until its claim expires")
+    @Test
+    void shouldClaimPaymentOnce_UntilClaimExpires() {
+        Order order = new Order();
+        order.setTotal(BigDecimal.valueOf(100));
+        order.setStatus(OrderStatus.PENDING);
+        orderRepository.save(order);
+
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setPaymentType(PaymentType.PIX);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setAmount(BigDecimal.valueOf(100));
+        paymentRepository.saveAndFlush(payment);
+
+        LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime later = claimedAt.plusSeconds(30);
+        LocalDateTime afterLease = claimedAt.plusMinutes(3);
+
+        assertEquals(1, paymentRepository.claim(payment.getId(), claimedAt, claimedAt.minusMinutes(2)));
+        assertEquals(0, paymentRepository.claim(payment.getId(), later, later.minusMinutes(2)));
+        assertEquals(0, paymentRepository.release(payment.getId(), later));
+        assertEquals(1, paymentRepository.claim(payment.getId(), afterLease, afterLease.minusMinutes(2)));
+    }
+}
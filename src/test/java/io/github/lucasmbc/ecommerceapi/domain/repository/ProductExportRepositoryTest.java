@@ -0,0 +1,68 @@
+package io.github.lucasmbc.ecommerceapi.domain.repository;
+
+import io.github.lucasmbc.ecommerceapi.config.ExportDataSourceConfig;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The export reads on a connection of its own, so the rows have to be committed first.
+@DataJpaTest
+@Import({ProductExportRepository.class, ExportDataSourceConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductExportRepositoryTest {
+
+    @Autowired
+    private ProductExportRepository productExportRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("JUnit test should stream every committed product response in id order")
+    @Test
+    void shouldStreamProductResponsesInIdOrder() {
+        Category category = new Category();
+        category.setName("Electronics");
+        categoryRepository.save(category);
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.TEN);
+            product.setStock(10);
+            product.setCategory(category);
+            productRepository.save(product);
+        }
+
+        List<ProductResponseDTO> products;
+        try (Stream<ProductResponseDTO> stream = productExportRepository.streamResponses()) {
+            products = stream.toList();
+        }
+
+        assertEquals(5, products.size());
+        assertEquals(products.stream().map(ProductResponseDTO::id).sorted().toList(),
+                products.stream().map(ProductResponseDTO::id).toList());
+        assertTrue(products.stream().allMatch(product -> "Electronics".equals(product.categoryName())));
+    }
+}
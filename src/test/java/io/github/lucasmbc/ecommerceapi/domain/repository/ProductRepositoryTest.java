@@ -1,19 +1,28 @@
 package io.github.lucasmbc.ecommerceapi.domain.repository;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ProductRepositoryTest {
 
     @Autowired
@@ -22,6 +31,12 @@ class ProductRepositoryTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Category category;
     private Product product;
 
@@ -65,4 +80,115 @@ class ProductRepositoryTest {
 
         assertFalse(products.isEmpty());
     }
-}
\ No newline at end of file
+
+    @DisplayName("JUnit test should page through products by id without repeating rows")
+    @Test
+    void shouldPageThroughProductsByKeyset() {
+        categoryRepository.save(category);
+        saveProducts(category, 5);
+
+        List<ProductResponseDTO> firstPage = productRepository.findResponses(Limit.of(2));
+        List<ProductResponseDTO> secondPage = productRepository.findResponsesAfter(firstPage.getLast().id(), Limit.of(2));
+        List<ProductResponseDTO> lastPage = productRepository.findResponsesAfter(secondPage.getLast().id(), Limit.of(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, lastPage.size());
+
+        Set<UUID> seen = new HashSet<>();
+        firstPage.forEach(p -> seen.add(p.id()));
+        secondPage.forEach(p -> seen.add(p.id()));
+        lastPage.forEach(p -> seen.add(p.id()));
+        assertEquals(5, seen.size());
+    }
+
+    @DisplayName("JUnit test should read product responses with their category in a single statement")
+    @Test
+    void shouldReadProductResponsesInSingleStatement() {
+        Category games = new Category();
+        games.setName("Games");
+        categoryRepository.save(category);
+        categoryRepository.save(games);
+        saveProducts(category, 3);
+        saveProducts(games, 3);
+
+        Statistics statistics = clearAndGetStatistics();
+
+        List<ProductResponseDTO> products = productRepository.findResponses(Limit.of(10));
+
+        assertEquals(6, products.size());
+        assertTrue(products.stream().allMatch(p -> p.categoryName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("JUnit test should read a product response by id in a single statement")
+    @Test
+    void shouldReadProductResponseByIdInSingleStatement() {
+        categoryRepository.save(category);
+        productRepository.save(product);
+
+        Statistics statistics = clearAndGetStatistics();
+
+        var found = productRepository.findResponseById(product.getId());
+
+        assertTrue(found.isPresent());
+        assertEquals(category.getName(), found.get().categoryName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("JUnit test should list product responses of a category in a single statement")
+    @Test
+    void shouldReadProductResponsesByCategoryInSingleStatement() {
+        Category games = new Category();
+        games.setName("Games");
+        categoryRepository.save(category);
+        categoryRepository.save(games);
+        saveProducts(category, 2);
+        saveProducts(games, 3);
+
+        Statistics statistics = clearAndGetStatistics();
+
+        List<ProductResponseDTO> products = productRepository.findResponsesByCategoryId(games.getId(), Limit.of(10));
+        List<ProductResponseDTO> nextPage = productRepository.findResponsesByCategoryIdAfter(games.getId(), products.getFirst().id(), Limit.of(10));
+
+        assertEquals(3, products.size());
+        assertEquals(2, nextPage.size());
+        assertTrue(products.stream().allMatch(p -> games.getId().equals(p.categoryId())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @DisplayName("JUnit test should only decrement stock when enough units are available")
+    @Test
+    void shouldDecrementStockConditionally() {
+        product.setStock(3);
+        categoryRepository.save(category);
+        productRepository.save(product);
+        entityManager.flush();
+
+        int first = productRepository.decrementStock(product.getId(), 2);
+        int second = productRepository.decrementStock(product.getId(), 2);
+
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(1, productRepository.findStockById(product.getId()));
+    }
+
+    private void saveProducts(Category category, int count) {
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName(category.getName() + " " + i);
+            product.setPrice(BigDecimal.TEN);
+            product.setStock(1);
+            product.setCategory(category);
+            productRepository.save(product);
+        }
+    }
+
+    private Statistics clearAndGetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.lucasmbc.ecommerceapi.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds categories, products and customers through the public API so the data goes through the
+ * same validation, caching and indexing paths as production writes.
+ */
+final class CatalogSeeder {
+
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final LoadTestClient client;
+
+    CatalogSeeder(LoadTestClient client) {
+        this.client = client;
+    }
+
+    Catalog seed(int categories, int products, int customers) throws Exception {
+        List<String> categoryIds = create(categories, i ->
+                client.post("seed", "/categories", "{\"name\":\"Category " + i + "\",\"description\":\"Seeded category\"}"));
+
+        List<String> productIds = create(products, i -> {
+            BigDecimal price = BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble(5, 2000)).setScale(2, RoundingMode.HALF_UP);
+            String json = "{\"name\":\"Product " + i + "\",\"description\":\"Seeded product number " + i + "\","
+                    + "\"price\":" + price + ",\"stock\":100000,\"categoryId\":\"" + categoryIds.get(i % categoryIds.size()) + "\"}";
+            return client.post("seed", "/products", json);
+        });
+
+        List<String> customerIds = create(customers, i -> {
+            String json = "{\"name\":\"Customer " + i + "\",\"email\":\"loadtest" + i + "@example.com\","
+                    + "\"password\":\"secret123\",\"cpf\":\"" + cpf(i) + "\"}";
+            return client.post("seed", "/customers", json);
+        });
+
+        return new Catalog(categoryIds, productIds, customerIds);
+    }
+
+    private List<String> create(int count, IntFunction<HttpResponse<String>> request) throws Exception {
+        List<Future<String>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newFixedThreadPool(SEED_CONCURRENCY, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> LoadTestClient.extractId(request.apply(index))));
+            }
+        }
+        List<String> ids = new ArrayList<>(count);
+        for (Future<String> future : futures) {
+            String id = future.get();
+            if (id == null) {
+                throw new IllegalStateException("Seeding failed, check the application log");
+            }
+            ids.add(id);
+        }
+        return Collections.unmodifiableList(ids);
+    }
+
+    static String cpf(int seed) {
+        int[] digits = new int[11];
+        String base = String.valueOf(100_000_000 + seed);
+        for (int i = 0; i < 9; i++) {
+            digits[i] = base.charAt(i) - '0';
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+
+        StringBuilder cpf = new StringBuilder(11);
+        for (int digit : digits) {
+            cpf.append(digit);
+        }
+        return cpf.toString();
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int remainder = 11 - sum % 11;
+        return remainder >= 10 ? 0 : remainder;
+    }
+
+    record Catalog(List<String> categoryIds, List<String> productIds, List<String> customerIds) {}
+}
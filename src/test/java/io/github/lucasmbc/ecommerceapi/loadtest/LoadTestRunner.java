@@ -0,0 +1,100 @@
+package io.github.lucasmbc.ecommerceapi.loadtest;
+
+import io.github.lucasmbc.ecommerceapi.ECommerceApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application against an in-memory H2 database in MySQL mode, seeds it through the
+ * API and drives a browse / add-to-cart / checkout / pay workload through the real controllers.
+ * Prints throughput, latency percentiles and error rate per endpoint.
+ * <p>
+ * Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.lucasmbc.ecommerceapi.loadtest.LoadTestRunner}.
+ * Settings (system properties, defaults in brackets):
+ * <ul>
+ *     <li>{@code loadtest.categories} [10], {@code loadtest.products} [1000], {@code loadtest.customers} [200]</li>
+ *     <li>{@code loadtest.users} concurrent shoppers [100], capped at the number of customers</li>
+ *     <li>{@code loadtest.duration} seconds [60], {@code loadtest.warmup} seconds [10]</li>
+ *     <li>{@code loadtest.think-time} milliseconds between actions [0]</li>
+ *     <li>{@code loadtest.mix} [browse=70,cart=20,checkout=7,pay=3]</li>
+ *     <li>{@code loadtest.profiles} extra Spring profiles, e.g. {@code virtual-threads}</li>
+ * </ul>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        int categories = Integer.getInteger("loadtest.categories", 10);
+        int products = Integer.getInteger("loadtest.products", 1000);
+        int customers = Integer.getInteger("loadtest.customers", 200);
+        int users = Math.min(Integer.getInteger("loadtest.users", 100), customers);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10));
+        Duration thinkTime = Duration.ofMillis(Integer.getInteger("loadtest.think-time", 0));
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty("loadtest.mix", "browse=70,cart=20,checkout=7,pay=3"));
+        String extraProfiles = System.getProperty("loadtest.profiles", "");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceApiApplication.class)
+                .profiles(profiles(extraProfiles))
+                .run(args)) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadTestClient client = new LoadTestClient(baseUrl);
+
+            System.out.printf("Seeding %d categories, %d products and %d customers%n", categories, products, customers);
+            CatalogSeeder.Catalog catalog = new CatalogSeeder(client).seed(categories, products, customers);
+
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up for %ds%n", warmup.toSeconds());
+                drive(client, catalog, mix, users, warmup, thinkTime);
+            }
+            client.resetStats();
+
+            System.out.printf("Running %d shoppers for %ds with mix %s%n", users, duration.toSeconds(), mix);
+            drive(client, catalog, mix, users, duration, thinkTime);
+            report(client.stats(), duration);
+        }
+    }
+
+    private static void drive(LoadTestClient client, CatalogSeeder.Catalog catalog, WorkloadMix mix, int users,
+                              Duration duration, Duration thinkTime) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                executor.execute(new ShoppingSession(client, catalog, mix, catalog.customerIds().get(i), deadline, thinkTime));
+            }
+        }
+    }
+
+    private static void report(Map<String, EndpointStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        String header = "%-45s %9s %9s %9s %9s %9s %9s %9s %8s%n";
+        String row = "%-45s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n";
+
+        System.out.printf(header, "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            long requests = endpoint.requests();
+            totalRequests += requests;
+            totalErrors += endpoint.errors();
+            System.out.printf(row, entry.getKey(), requests, requests / seconds,
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(90), endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9), endpoint.maxMillis(),
+                    requests == 0 ? 0.0 : 100.0 * endpoint.errors() / requests);
+        }
+        System.out.printf("%nTotal: %d requests, %.1f req/s, %.2f%% errors%n", totalRequests, totalRequests / seconds,
+                totalRequests == 0 ? 0.0 : 100.0 * totalErrors / totalRequests);
+    }
+
+    private static String[] profiles(String extraProfiles) {
+        String all = extraProfiles.isBlank() ? "loadtest" : "loadtest," + extraProfiles;
+        return all.split(",");
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.lucasmbc.ecommerceapi.loadtest;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated shopper. Actions whose precondition is not met yet (checking out an empty cart,
+ * paying without an open order) fall back to browsing, so the effective mix stays close to the
+ * configured one without producing artificial errors.
+ */
+final class ShoppingSession implements Runnable {
+
+    private final LoadTestClient client;
+    private final CatalogSeeder.Catalog catalog;
+    private final WorkloadMix mix;
+    private final String customerId;
+    private final long deadlineNanos;
+    private final Duration thinkTime;
+
+    private final Deque<String> unpaidOrders = new ArrayDeque<>();
+    private boolean cartHasItems;
+
+    ShoppingSession(LoadTestClient client, CatalogSeeder.Catalog catalog, WorkloadMix mix, String customerId,
+                    long deadlineNanos, Duration thinkTime) {
+        this.client = client;
+        this.catalog = catalog;
+        this.mix = mix;
+        this.customerId = customerId;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkTime = thinkTime;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+            switch (mix.next()) {
+                case BROWSE -> browse();
+                case CART -> addToCart();
+                case CHECKOUT -> checkout();
+                case PAY -> pay();
+            }
+            pause();
+        }
+    }
+
+    private void browse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(10);
+        if (roll < 5) {
+            client.get("GET /products/{id}", "/products/" + pick(catalog.productIds()));
+        } else if (roll < 8) {
+            client.get("GET /products", "/products?size=20&categoryId=" + pick(catalog.categoryIds()));
+        } else {
+            client.get("GET /products/search", "/products/search?q=product+" + random.nextInt(catalog.productIds().size()));
+        }
+    }
+
+    private void addToCart() {
+        int quantity = 1 + ThreadLocalRandom.current().nextInt(3);
+        HttpResponse<String> response = client.post("POST /carts/{customerId}/items/{productId}",
+                "/carts/" + customerId + "/items/" + pick(catalog.productIds()) + "?quantity=" + quantity, null);
+        if (response != null && response.statusCode() < 400) {
+            cartHasItems = true;
+        }
+    }
+
+    private void checkout() {
+        if (!cartHasItems) {
+            browse();
+            return;
+        }
+        String orderId = LoadTestClient.extractId(client.post("POST /orders/{customerId}", "/orders/" + customerId, null));
+        if (orderId != null) {
+            unpaidOrders.push(orderId);
+            cartHasItems = false;
+        }
+    }
+
+    private void pay() {
+        String orderId = unpaidOrders.poll();
+        if (orderId == null) {
+            browse();
+            return;
+        }
+        client.post("POST /payments/{orderId}", "/payments/" + orderId + "?paymentType=PIX", null);
+    }
+
+    private void pause() {
+        if (thinkTime.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(thinkTime);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String pick(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.lucasmbc.ecommerceapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Relative weights of the shopping actions, parsed from a spec such as
+ * {@code browse=70,cart=20,checkout=7,pay=3}.
+ */
+final class WorkloadMix {
+
+    enum Action { BROWSE, CART, CHECKOUT, PAY }
+
+    private final Map<Action, Integer> weights;
+    private final int totalWeight;
+
+    private WorkloadMix(Map<Action, Integer> weights) {
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Workload mix must have at least one positive weight");
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Action, Integer> weights = new EnumMap<>(Action.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry: " + entry);
+            }
+            weights.put(Action.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Action next() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Action, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Action.BROWSE;
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
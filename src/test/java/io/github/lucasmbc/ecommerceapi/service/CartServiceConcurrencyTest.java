@@ -0,0 +1,225 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.config.CartStoreConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.Cart;
+import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
+import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import io.github.lucasmbc.ecommerceapi.domain.repository.*;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartStore;
+import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({CartService.class, CartStoreConfig.class, ReadYourWrites.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartServiceConcurrencyTest {
+
+    private static final int ADDS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setName("John Doe");
+        customer.setEmail("concurrent@cart.com");
+        customer.setPassword("johndoe");
+        customer.setCpf("12345678910");
+        customerRepository.save(customer);
+
+        Category category = new Category();
+        category.setName("Electronics");
+        categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("iPhone");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(ADDS * 10);
+        product.setCategory(category);
+        productRepository.save(product);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartStore.remove(customer.getId());
+        cartItemRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("JUnit test should keep every increment when 1000 adds run concurrently")
+    @Test
+    void shouldKeepEveryIncrement_WhenAddsRunConcurrently() throws Exception {
+        List<Future<?>> results = runConcurrently(ADDS, i -> cartService.addItem(customer.getId(), product.getId(), 1));
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        List<CartItem> items = cartService.getItems(customer.getId());
+        assertEquals(1, items.size());
+        assertEquals(ADDS, items.getFirst().getQuantity());
+    }
+
+    @DisplayName("JUnit test should persist the accumulated cart once when materialized")
+    @Test
+    void shouldPersistAccumulatedCart_WhenMaterialized() throws Exception {
+        for (Future<?> result : runConcurrently(ADDS, i -> cartService.addItem(customer.getId(), product.getId(), 1))) {
+            result.get();
+        }
+
+        materialize();
+
+        assertEquals(ADDS, quantityInCart());
+        assertTrue(cartStore.find(customer.getId()).isEmpty());
+    }
+
+    @DisplayName("JUnit test should update the existing line when the same product is checked out twice")
+    @Test
+    void shouldUpdateExistingLine_WhenSameProductCheckedOutTwice() {
+        cartService.addItem(customer.getId(), product.getId(), 1);
+        materialize();
+
+        cartService.addItem(customer.getId(), product.getId(), 2);
+        materialize();
+
+        assertEquals(Map.of(product.getId(), 2), linesInCart());
+    }
+
+    @DisplayName("JUnit test should drop lines that are no longer in the stored cart")
+    @Test
+    void shouldDropStaleLines_WhenCheckedOutAgain() {
+        Product other = new Product();
+        other.setName("iPad");
+        other.setPrice(BigDecimal.ONE);
+        other.setStock(10);
+        other.setCategory(product.getCategory());
+        productRepository.save(other);
+
+        cartService.addItem(customer.getId(), product.getId(), 1);
+        cartService.addItem(customer.getId(), other.getId(), 1);
+        materialize();
+
+        cartService.addItem(customer.getId(), other.getId(), 3);
+        materialize();
+
+        assertEquals(Map.of(other.getId(), 3), linesInCart());
+    }
+
+    @DisplayName("JUnit test should create a single cart when first checkouts of a customer race")
+    @Test
+    void shouldCreateSingleCart_WhenFirstCheckoutsRace() throws Exception {
+        cartService.addItem(customer.getId(), product.getId(), 1);
+
+        List<Future<?>> results = runConcurrently(4, i -> materialize());
+
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException ex) {
+                // A checkout that starts after another one emptied the stored cart finds nothing to buy.
+                assertInstanceOf(NotFoundException.class, ex.getCause());
+            }
+        }
+        assertEquals(Map.of(product.getId(), 1), linesInCart());
+    }
+
+    private void materialize() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> cartService.materialize(customer.getId()));
+    }
+
+    private Map<UUID, Integer> linesInCart() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Cart> carts = cartRepository.findAll().stream()
+                    .filter(cart -> cart.getCustomer().getId().equals(customer.getId()))
+                    .toList();
+            assertEquals(1, carts.size());
+            return carts.getFirst().getItems().stream()
+                    .collect(Collectors.toMap(item -> item.getProduct().getId(), CartItem::getQuantity));
+        });
+    }
+
+    private List<Future<?>> runConcurrently(int tasks, CartTask task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>(tasks);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    task.accept(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+        }
+        return results;
+    }
+
+    private int quantityInCart() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Cart> carts = cartRepository.findAll().stream()
+                    .filter(cart -> cart.getCustomer().getId().equals(customer.getId()))
+                    .toList();
+            assertEquals(1, carts.size());
+            assertEquals(1, carts.getFirst().getItems().size());
+            return carts.getFirst().getItems().getFirst().getQuantity();
+        });
+    }
+
+    @FunctionalInterface
+    private interface CartTask {
+        void accept(int value) throws Exception;
+    }
+}
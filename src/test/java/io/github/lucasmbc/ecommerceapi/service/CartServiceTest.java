@@ -1,43 +1,53 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
+import io.github.lucasmbc.ecommerceapi.controller.dto.request.AddToCartRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.CartLineResultResponseDTO;
 import io.github.lucasmbc.ecommerceapi.domain.model.Cart;
 import io.github.lucasmbc.ecommerceapi.domain.model.CartItem;
 import io.github.lucasmbc.ecommerceapi.domain.model.Customer;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
-import io.github.lucasmbc.ecommerceapi.domain.repository.CartItemRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CartRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartLine;
+import io.github.lucasmbc.ecommerceapi.service.cart.CartStore;
+import io.github.lucasmbc.ecommerceapi.service.cart.StoredCart;
 import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadRouting;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class CartServiceTest {
 
     @Mock
-    private CartRepository cartRepository;
+    private CartStore cartStore;
 
     @Mock
-    private CartItemRepository cartItemRepository;
+    private CartRepository cartRepository;
 
     @Mock
     private CustomerRepository customerRepository;
@@ -45,10 +55,12 @@ class CartServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(10));
+
     @InjectMocks
     private CartService cartService;
 
-    private Cart cart;
     private Customer customer;
     private Product product;
 
@@ -61,43 +73,32 @@ class CartServiceTest {
         customer.setPassword("johndoe");
         customer.setCpf("1234567890");
 
-        cart = new Cart();
-        cart.setCustomer(customer);
-
         product = createProduct("iPhone", BigDecimal.valueOf(3000), 10);
     }
 
     @Test
-    @DisplayName("Should add product to cart when customer and product exist")
+    @DisplayName("Should add product to the cart store when customer and product exist")
     void shouldAddProductToCart_WhenCustomerAndProductExist() {
 
-        given(customerRepository.findById(any())).willReturn(Optional.of(customer));
-        given(cartRepository.findByCustomerId(any())).willReturn(Optional.of(cart));
+        given(customerRepository.existsById(customer.getId())).willReturn(true);
         given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
-        given(cartItemRepository.findByCartIdAndProductId(cart.getId(), product.getId())).willReturn(Optional.empty());
 
         cartService.addItem(customer.getId(), product.getId(), 2);
 
-        verify(cartItemRepository).save(any(CartItem.class));
+        verify(cartStore).addLine(customer.getId(), product.getId(), 2, product.getPrice());
     }
 
     @Test
-    @DisplayName("Should create cart and add product when cart does not exist")
-    void shouldCreateCartAndAddProduct_WhenCartDoesNotExist() {
-
-        given(customerRepository.findById(any())).willReturn(Optional.of(customer));
-        given(productRepository.findById(any())).willReturn(Optional.of(product));
-        given(cartRepository.findByCustomerId(any())).willReturn(Optional.empty());
-        given(cartRepository.save(any(Cart.class))).willAnswer(invocation -> {
-            Cart cart = invocation.getArgument(0);
-            cart.setId(UUID.randomUUID());
-            return cart;
-        });
+    @DisplayName("Should check a just-written customer on the primary")
+    void addItem_ShouldCheckCustomerOnPrimary_WhenCustomerWasJustWritten() {
+
+        readYourWrites.recordWrite(customer.getId());
+        given(customerRepository.existsById(customer.getId())).willAnswer(invocation -> ReadRouting.isPrimaryRequired());
+        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
 
         cartService.addItem(customer.getId(), product.getId(), 2);
 
-        verify(cartRepository, times(1)).save(any(Cart.class));
-        verify(cartItemRepository, times(1)).save(any(CartItem.class));
+        verify(cartStore).addLine(customer.getId(), product.getId(), 2, product.getPrice());
     }
 
     @Test
@@ -116,7 +117,7 @@ class CartServiceTest {
     @DisplayName("Should throw NotFoundException when customer not found")
     void addItem_ShouldThrowNotFoundException_WhenCustomerNotFound() {
 
-        given(customerRepository.findById(any())).willReturn(Optional.empty());
+        given(customerRepository.existsById(any())).willReturn(false);
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
             cartService.addItem(customer.getId(), product.getId(), 2);
@@ -130,7 +131,7 @@ class CartServiceTest {
     @DisplayName("Should throw NotFoundException when product not found")
     void addItem_ShouldThrowNotFoundException_WhenProductNotFound() {
 
-        given(customerRepository.findById(any())).willReturn(Optional.of(customer));
+        given(customerRepository.existsById(any())).willReturn(true);
         given(productRepository.findById(any())).willReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
@@ -147,7 +148,7 @@ class CartServiceTest {
 
         Product newProduct = createProduct("MacBook", BigDecimal.valueOf(8000), 1);
 
-        given(customerRepository.findById(any())).willReturn(Optional.of(customer));
+        given(customerRepository.existsById(any())).willReturn(true);
         given(productRepository.findById(any())).willReturn(Optional.of(newProduct));
 
         CustomBadRequestException exception = assertThrows(CustomBadRequestException.class, () -> {
@@ -155,20 +156,84 @@ class CartServiceTest {
         });
 
         assertEquals("Product stock less than quantity", exception.getMessage());
+        verify(cartStore, never()).addLine(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should resolve a batch with one product query and write valid lines at once")
+    void addItems_ShouldReportPerLineResults() {
+        Product lowStock = createProduct("MacBook", BigDecimal.valueOf(8000), 1);
+        UUID missingId = UUID.randomUUID();
+
+        given(customerRepository.existsById(customer.getId())).willReturn(true);
+        given(productRepository.findAllById(any())).willReturn(List.of(product, lowStock));
+
+        List<CartLineResultResponseDTO> results = cartService.addItems(customer.getId(), List.of(
+                addRequest(product.getId(), 2),
+                addRequest(lowStock.getId(), 2),
+                addRequest(missingId, 1),
+                addRequest(product.getId(), 3),
+                addRequest(product.getId(), 0)));
+
+        assertEquals(List.of("ADDED", "INSUFFICIENT_STOCK", "PRODUCT_NOT_FOUND", "INVALID_QUANTITY"),
+                results.stream().map(CartLineResultResponseDTO::status).toList());
+        assertEquals(5, results.getFirst().quantity());
+        verify(productRepository).findAllById(any());
+        verify(cartStore).addLines(customer.getId(), List.of(new CartLine(product.getId(), 5, product.getPrice())));
+    }
+
+    @Test
+    @DisplayName("Should report a line without product id separately from an invalid quantity")
+    void addItems_ShouldReportMissingProductId() {
+        given(customerRepository.existsById(customer.getId())).willReturn(true);
+        given(productRepository.findAllById(any())).willReturn(List.of());
+
+        List<CartLineResultResponseDTO> results = cartService.addItems(customer.getId(), List.of(addRequest(null, 1)));
+
+        assertEquals("MISSING_PRODUCT_ID", results.getFirst().status());
+        assertEquals("Product id is required", results.getFirst().message());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch containing a null item")
+    void addItems_ShouldThrowCustomBadRequestException_WhenItemIsNull() {
+        List<AddToCartRequestDTO> requests = new ArrayList<>();
+        requests.add(addRequest(product.getId(), 1));
+        requests.add(null);
 
+        CustomBadRequestException exception = assertThrows(CustomBadRequestException.class,
+                () -> cartService.addItems(customer.getId(), requests));
+
+        assertEquals("Item at position 1 must not be null", exception.getMessage());
+        verify(cartStore, never()).addLines(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void addItems_ShouldThrowCustomBadRequestException_WhenBatchIsEmpty() {
+        assertThrows(CustomBadRequestException.class, () -> cartService.addItems(customer.getId(), List.of()));
+    }
+
+    @Test
+    @DisplayName("Should not touch the cart store when no line is valid")
+    void addItems_ShouldNotWrite_WhenNoLineIsValid() {
+        given(customerRepository.existsById(customer.getId())).willReturn(true);
+        given(productRepository.findAllById(any())).willReturn(List.of());
+
+        cartService.addItems(customer.getId(), List.of(addRequest(UUID.randomUUID(), 1)));
+
+        verify(cartStore, never()).addLines(any(), any());
     }
 
     @Test
     @DisplayName("Should return cart items when cart exists")
     void getItems_ShouldReturnCartItems_WhenCartExists() {
 
-        List<CartItem> cartItems = Arrays.asList(
-                createCartItem("iPhone", BigDecimal.valueOf(3000), 1),
-                createCartItem("MacBook", BigDecimal.valueOf(8000), 1)
-        );
-        cart.setItems(cartItems);
-
-        given(cartRepository.findByCustomerId(any())).willReturn(Optional.of(cart));
+        Product macbook = createProduct("MacBook", BigDecimal.valueOf(8000), 10);
+        given(cartStore.find(customer.getId())).willReturn(Optional.of(storedCart(
+                new CartLine(product.getId(), 1, product.getPrice()),
+                new CartLine(macbook.getId(), 1, macbook.getPrice()))));
+        given(productRepository.findAllById(List.of(product.getId(), macbook.getId()))).willReturn(List.of(macbook, product));
 
         List<CartItem> saved = cartService.getItems(customer.getId());
 
@@ -176,32 +241,57 @@ class CartServiceTest {
         assertEquals(2, saved.size());
         assertEquals("iPhone", saved.getFirst().getProduct().getName());
         assertEquals("MacBook", saved.get(1).getProduct().getName());
-
-        verify(cartRepository, times(1)).findByCustomerId(customer.getId());
     }
 
     @Test
     @DisplayName("Should throw NotFoundException when cart not found")
     void getItems_ShouldThrowBusinessException_WhenCartNotFound() {
-        given(cartRepository.findByCustomerId(any())).willThrow(new NotFoundException("Cart not found"));
+        given(cartStore.find(any())).willReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () -> {
             cartService.getItems(customer.getId());
         });
 
         assertEquals("Cart not found", exception.getMessage());
-        verify(cartRepository, times(1)).findByCustomerId(customer.getId());
     }
 
-    private CartItem createCartItem(String productName, BigDecimal price, Integer quantity) {
-        Product product = createProduct(productName, price, 10);
+    @Test
+    @DisplayName("Should materialize the stored cart into a JPA cart at checkout")
+    void materialize_ShouldPersistStoredCart() {
+        given(cartStore.find(customer.getId())).willReturn(Optional.of(storedCart(new CartLine(product.getId(), 3, BigDecimal.valueOf(2500)))));
+        given(customerRepository.findByIdForUpdate(customer.getId())).willReturn(Optional.of(customer));
+        given(productRepository.findAllById(List.of(product.getId()))).willReturn(List.of(product));
+        given(cartRepository.findByCustomerId(customer.getId())).willReturn(Optional.empty());
+        given(cartRepository.save(any(Cart.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        Cart cart = cartService.materialize(customer.getId());
+
+        assertEquals(customer, cart.getCustomer());
+        assertEquals(1, cart.getItems().size());
+        assertEquals(3, cart.getItems().getFirst().getQuantity());
+        assertEquals(BigDecimal.valueOf(2500), cart.getItems().getFirst().getUnitPrice());
+        assertSame(cart, cart.getItems().getFirst().getCart());
+        verify(cartStore).remove(customer.getId());
+    }
 
-        CartItem cartItem = new CartItem();
-        cartItem.setProduct(product);
-        cartItem.setQuantity(quantity);
-        cartItem.setUnitPrice(product.getPrice());
+    @Test
+    @DisplayName("Should throw NotFoundException when materializing an empty cart")
+    void materialize_ShouldThrowNotFoundException_WhenCartIsEmpty() {
+        given(cartStore.find(customer.getId())).willReturn(Optional.of(storedCart()));
+
+        assertThrows(NotFoundException.class, () -> cartService.materialize(customer.getId()));
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
+    private AddToCartRequestDTO addRequest(UUID productId, int quantity) {
+        AddToCartRequestDTO request = new AddToCartRequestDTO();
+        request.setId(productId);
+        request.setQuantity(quantity);
+        return request;
+    }
 
-        return cartItem;
+    private StoredCart storedCart(CartLine... lines) {
+        return new StoredCart(customer.getId(), Instant.now(), List.of(lines));
     }
 
     private Product createProduct(String name, BigDecimal price, Integer stock) {
@@ -212,4 +302,4 @@ class CartServiceTest {
         product.setStock(stock);
         return product;
     }
-}
\ No newline at end of file
+}
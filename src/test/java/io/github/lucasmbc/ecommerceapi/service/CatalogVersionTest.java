@@ -0,0 +1,77 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(CatalogVersion.class)
+class CatalogVersionTest {
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @DisplayName("JUnit test should move the shared catalog version on every bump")
+    @Test
+    void shouldMoveVersion_WhenBumped() {
+        long before = catalogVersion.current();
+
+        catalogVersion.bump();
+        catalogVersion.bump();
+
+        assertEquals(before + 2, catalogVersion.current());
+    }
+
+    @DisplayName("JUnit test should refuse to bump the version outside the writing transaction")
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldRejectBump_WithoutTransaction() {
+        assertThrows(IllegalTransactionStateException.class, catalogVersion::bump);
+    }
+
+    @DisplayName("JUnit test should change a product's version when its stock changes without moving the catalog version")
+    @Test
+    void shouldChangeProductVersion_WhenStockChanges() {
+        Category category = new Category();
+        category.setName("Electronics");
+        entityManager.persist(category);
+
+        Product product = new Product();
+        product.setName("iPhone");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(10);
+        product.setCategory(category);
+        productRepository.save(product);
+        entityManager.flush();
+
+        long catalog = catalogVersion.current();
+        Optional<String> before = catalogVersion.forProduct(product.getId());
+        productRepository.decrementStock(product.getId(), 1);
+
+        assertTrue(before.isPresent());
+        assertNotEquals(before, catalogVersion.forProduct(product.getId()));
+        assertEquals(catalog, catalogVersion.current());
+        assertTrue(catalogVersion.forProduct(UUID.randomUUID()).isEmpty());
+    }
+}
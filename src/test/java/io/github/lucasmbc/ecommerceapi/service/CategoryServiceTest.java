@@ -4,6 +4,7 @@ import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CategoryRepository;
 import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
 import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,6 +31,18 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -122,6 +135,35 @@ class CategoryServiceTest {
         assertNotNull(saved);
         assertEquals(category.getName(), saved.getName());
         assertEquals(category.getDescription(), saved.getDescription());
+        verify(categoryCache).evictAfterCommit(category.getId());
+        verify(catalogVersion).bump();
+    }
+
+    @DisplayName("JUnit test should evict cached products when the category is renamed")
+    @Test
+    void shouldEvictCachedProducts_WhenCategoryRenamed() {
+        Category renamed = new Category();
+        renamed.setName("Renamed Category");
+        given(categoryRepository.findById(category.getId())).willReturn(Optional.of(category));
+        given(categoryRepository.save(category)).willReturn(category);
+
+        categoryService.update(category.getId(), renamed);
+
+        verify(productCache).evictAllAfterCommit();
+    }
+
+    @DisplayName("JUnit test should keep cached products when only the description changes")
+    @Test
+    void shouldKeepCachedProducts_WhenCategoryNameUnchanged() {
+        Category described = new Category();
+        described.setName(category.getName());
+        described.setDescription("New description");
+        given(categoryRepository.findById(category.getId())).willReturn(Optional.of(category));
+        given(categoryRepository.save(category)).willReturn(category);
+
+        categoryService.update(category.getId(), described);
+
+        verify(productCache, never()).evictAllAfterCommit();
     }
 
     @DisplayName("JUnit test should delete category")
@@ -133,5 +175,7 @@ class CategoryServiceTest {
         categoryService.delete(category.getId());
 
         verify(categoryRepository, times(1)).deleteById(category.getId());
+        verify(categoryCache).evictAfterCommit(category.getId());
+        verify(catalogVersion).bump();
     }
 }
\ No newline at end of file
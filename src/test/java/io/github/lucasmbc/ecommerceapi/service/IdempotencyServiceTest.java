@@ -0,0 +1,238 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyRecord;
+import io.github.lucasmbc.ecommerceapi.domain.model.IdempotencyStatus;
+import io.github.lucasmbc.ecommerceapi.domain.repository.IdempotencyRecordRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ConflictException;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String FINGERPRINT = "POST /orders/1";
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, new ObjectMapper(), transactionManager,
+                Duration.ofHours(24), Duration.ofMinutes(1), 100);
+    }
+
+    @DisplayName("JUnit test should run the action directly when no key is sent")
+    @Test
+    void shouldRunAction_WhenKeyIsMissing() {
+        ResponseEntity<Sample> response = idempotencyService.execute(null, FINGERPRINT, Sample.class, this::created);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, calls.get());
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @DisplayName("JUnit test should replay a stored response without running the action")
+    @Test
+    void shouldReplayStoredResponse_WhenKeyWasCompleted() {
+        given(repository.findById("key")).willReturn(Optional.of(completedRecord(FINGERPRINT)));
+
+        ResponseEntity<Sample> response = idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("/orders/1", response.getHeaders().getLocation().toString());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(new Sample("first"), response.getBody());
+        assertEquals(0, calls.get());
+    }
+
+    @DisplayName("JUnit test should store the response of the first request and replay it from memory")
+    @Test
+    void shouldStoreResponse_WhenKeyIsNew() {
+        given(repository.findById("key")).willReturn(Optional.empty());
+        storeClaims();
+
+        idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created);
+        ResponseEntity<Sample> replayed = idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created);
+
+        assertEquals(1, calls.get());
+        assertEquals(new Sample("created"), replayed.getBody());
+        verify(repository).save(any(IdempotencyRecord.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @DisplayName("JUnit test should roll back the work when the response cannot be recorded")
+    @Test
+    void shouldRollBack_WhenClaimWasTakenOver() {
+        given(repository.findById("key")).willReturn(Optional.empty());
+        given(repository.saveAndFlush(any(IdempotencyRecord.class))).willAnswer(invocation -> invocation.getArgument(0));
+        IdempotencyRecord takenOver = inProgressRecord(LocalDateTime.now().plusSeconds(1));
+        given(repository.findByKeyForUpdate("key")).willReturn(Optional.of(takenOver));
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created));
+
+        assertEquals(1, calls.get());
+        verify(transactionManager).rollback(any());
+        verify(repository, never()).save(any(IdempotencyRecord.class));
+        verify(repository).releaseClaim(eq("key"), any(LocalDateTime.class));
+    }
+
+    @DisplayName("JUnit test should take over a claim whose request died before completing")
+    @Test
+    void shouldTakeOverClaim_WhenLeaseExpired() {
+        IdempotencyRecord abandoned = inProgressRecord(LocalDateTime.now().minusMinutes(5));
+        given(repository.findById("key")).willReturn(Optional.of(abandoned));
+        given(repository.takeOver(eq("key"), eq(abandoned.getCreatedAt()), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willAnswer(invocation -> {
+                    abandoned.setCreatedAt(invocation.getArgument(2));
+                    return 1;
+                });
+        given(repository.findByKeyForUpdate("key")).willReturn(Optional.of(abandoned));
+
+        ResponseEntity<Sample> response = idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(1, calls.get());
+        assertEquals(IdempotencyStatus.COMPLETED, abandoned.getStatus());
+    }
+
+    @DisplayName("JUnit test should return conflict when another retry took over the abandoned claim first")
+    @Test
+    void shouldThrowConflictException_WhenTakeOverRaces() {
+        IdempotencyRecord abandoned = inProgressRecord(LocalDateTime.now().minusMinutes(5));
+        given(repository.findById("key")).willReturn(Optional.of(abandoned));
+        given(repository.takeOver(eq("key"), eq(abandoned.getCreatedAt()), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .willReturn(0);
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created));
+        assertEquals(0, calls.get());
+    }
+
+    @DisplayName("JUnit test should reject a key reused for a different request")
+    @Test
+    void shouldThrowBusinessException_WhenFingerprintDiffers() {
+        given(repository.findById("key")).willReturn(Optional.of(completedRecord("POST /orders/2")));
+
+        assertThrows(BusinessException.class,
+                () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created));
+        assertEquals(0, calls.get());
+    }
+
+    @DisplayName("JUnit test should return conflict while the first request is still running")
+    @Test
+    void shouldThrowConflictException_WhenKeyIsInProgress() {
+        given(repository.findById("key")).willReturn(Optional.of(inProgressRecord(LocalDateTime.now())));
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created));
+        assertEquals(0, calls.get());
+    }
+
+    @DisplayName("JUnit test should return conflict when another request claims the key first")
+    @Test
+    void shouldThrowConflictException_WhenClaimRaces() {
+        given(repository.findById("key")).willReturn(Optional.empty());
+        given(repository.saveAndFlush(any(IdempotencyRecord.class))).willThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, this::created));
+        assertEquals(0, calls.get());
+    }
+
+    @DisplayName("JUnit test should release the key when the action fails")
+    @Test
+    void shouldReleaseKey_WhenActionFails() {
+        given(repository.findById("key")).willReturn(Optional.empty());
+        given(repository.saveAndFlush(any(IdempotencyRecord.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(NotFoundException.class, () -> idempotencyService.execute("key", FINGERPRINT, Sample.class, () -> {
+            throw new NotFoundException("Customer not found");
+        }));
+
+        verify(repository).releaseClaim(eq("key"), any(LocalDateTime.class));
+        verify(repository, never()).save(any(IdempotencyRecord.class));
+    }
+
+    @DisplayName("JUnit test should reject keys that do not fit the key column")
+    @Test
+    void shouldThrowBadRequest_WhenKeyIsTooLong() {
+        assertThrows(CustomBadRequestException.class,
+                () -> idempotencyService.execute("k".repeat(256), FINGERPRINT, Sample.class, this::created));
+    }
+
+    private ResponseEntity<Sample> created() {
+        calls.incrementAndGet();
+        return ResponseEntity.created(URI.create("/orders/1")).body(new Sample("created"));
+    }
+
+    private void storeClaims() {
+        Map<String, IdempotencyRecord> claims = new HashMap<>();
+        given(repository.saveAndFlush(any(IdempotencyRecord.class))).willAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            claims.put(record.getKey(), record);
+            return record;
+        });
+        given(repository.findByKeyForUpdate("key")).willAnswer(invocation -> Optional.ofNullable(claims.get("key")));
+    }
+
+    private IdempotencyRecord inProgressRecord(LocalDateTime claimedAt) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key");
+        record.setFingerprint(FINGERPRINT);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(claimedAt);
+        record.setExpiresAt(claimedAt.plusHours(24));
+        return record;
+    }
+
+    private IdempotencyRecord completedRecord(String fingerprint) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key");
+        record.setFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setResponseStatus(201);
+        record.setResponseLocation("/orders/1");
+        record.setResponseBody("{\"value\":\"first\"}");
+        record.setCreatedAt(LocalDateTime.now());
+        record.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return record;
+    }
+
+    record Sample(String value) {
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderQueryService.class, ReadYourWrites.class})
+class OrderQueryServiceStatementCountTest {
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("JUnit test should read an order with 20 lines of distinct products in two statements")
+    @Test
+    void shouldReadOrderDetailInTwoStatements() {
+        Customer customer = new Customer();
+        customer.setName("teste");
+        customer.setEmail("teste@order.com");
+        customer.setPassword("123");
+        customer.setCpf("12345678910");
+        customerRepository.save(customer);
+
+        Category category = new Category();
+        category.setName("Electronics");
+        entityManager.persist(category);
+
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(BigDecimal.valueOf(200));
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.TEN);
+            product.setStock(10);
+            product.setCategory(category);
+            productRepository.save(product);
+
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setUnitPrice(BigDecimal.TEN);
+            items.add(item);
+        }
+        order.setItems(items);
+        orderRepository.save(order);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrderResponseDTO detail = orderQueryService.findDetail(order.getId());
+
+        assertEquals(order.getId(), detail.id());
+        assertEquals(20, detail.items().size());
+        assertEquals(20, detail.items().stream().map(OrderItemResponseDTO::productName).distinct().count());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
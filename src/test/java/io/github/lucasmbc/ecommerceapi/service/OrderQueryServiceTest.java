@@ -0,0 +1,147 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderItemResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.OrderSummaryResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.OrderStatus;
+import io.github.lucasmbc.ecommerceapi.domain.repository.CustomerRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderHeader;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderItemRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import io.github.lucasmbc.ecommerceapi.service.exception.NotFoundException;
+import io.github.lucasmbc.ecommerceapi.service.pagination.KeysetCursor;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class OrderQueryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(10));
+
+    @InjectMocks
+    private OrderQueryService orderQueryService;
+
+    private final UUID customerId = UUID.randomUUID();
+
+    @DisplayName("JUnit test should return a cursor pointing at the last order of a full page")
+    @Test
+    void shouldReturnNextCursor_WhenMoreOrdersExist() {
+        List<OrderSummaryResponseDTO> rows = List.of(summary(3), summary(2), summary(1));
+        given(orderRepository.findSummariesByCustomerId(customerId, Limit.of(3))).willReturn(rows);
+
+        PageResponseDTO<OrderSummaryResponseDTO> page = orderQueryService.findHistory(customerId, null, null, 2);
+
+        assertEquals(2, page.items().size());
+        KeysetCursor.Position position = KeysetCursor.decodePosition(page.nextCursor());
+        assertEquals(rows.get(1).orderDate(), position.timestamp());
+        assertEquals(rows.get(1).id(), position.id());
+    }
+
+    @DisplayName("JUnit test should continue after the cursor position with the status filter")
+    @Test
+    void shouldSeekAfterCursor_WhenStatusIsGiven() {
+        OrderSummaryResponseDTO last = summary(5);
+        String cursor = KeysetCursor.encode(last.orderDate(), last.id());
+        given(orderRepository.findSummariesByCustomerIdAndStatusAfter(customerId, OrderStatus.PAID, last.orderDate(), last.id(), Limit.of(21)))
+                .willReturn(List.of(summary(4)));
+
+        PageResponseDTO<OrderSummaryResponseDTO> page = orderQueryService.findHistory(customerId, OrderStatus.PAID, cursor, null);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @DisplayName("JUnit test should return an empty history for a customer without orders")
+    @Test
+    void shouldReturnEmptyPage_WhenCustomerHasNoOrders() {
+        given(orderRepository.findSummariesByCustomerId(customerId, Limit.of(21))).willReturn(List.of());
+        given(customerRepository.existsById(customerId)).willReturn(true);
+
+        assertTrue(orderQueryService.findHistory(customerId, null, null, null).items().isEmpty());
+    }
+
+    @DisplayName("JUnit test should throw NotFoundException when the customer does not exist")
+    @Test
+    void shouldThrowNotFound_WhenCustomerDoesNotExist() {
+        given(orderRepository.findSummariesByCustomerId(customerId, Limit.of(21))).willReturn(List.of());
+        given(customerRepository.existsById(customerId)).willReturn(false);
+
+        assertThrows(NotFoundException.class, () -> orderQueryService.findHistory(customerId, null, null, null));
+    }
+
+    @DisplayName("JUnit test should reject a cursor that is not an order position")
+    @Test
+    void shouldThrowBadRequest_WhenCursorIsInvalid() {
+        String productCursor = KeysetCursor.encode(UUID.randomUUID());
+
+        assertThrows(CustomBadRequestException.class, () -> orderQueryService.findHistory(customerId, null, productCursor, null));
+    }
+
+    @DisplayName("JUnit test should throw NotFoundException when listing items of an unknown order")
+    @Test
+    void shouldThrowNotFound_WhenOrderDoesNotExist() {
+        UUID orderId = UUID.randomUUID();
+        given(orderItemRepository.findResponsesByOrderId(orderId)).willReturn(List.of());
+        given(orderRepository.existsById(orderId)).willReturn(false);
+
+        assertThrows(NotFoundException.class, () -> orderQueryService.findItems(orderId));
+    }
+
+    @DisplayName("JUnit test should assemble the order detail from the header and line projections")
+    @Test
+    void shouldReturnOrderDetail() {
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime orderDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        given(orderRepository.findHeaderById(orderId)).willReturn(Optional.of(new OrderHeader(orderId, BigDecimal.TEN, OrderStatus.PAID, orderDate)));
+        given(orderItemRepository.findResponsesByOrderId(orderId)).willReturn(List.of(new OrderItemResponseDTO("iPhone", 1, BigDecimal.TEN)));
+
+        OrderResponseDTO detail = orderQueryService.findDetail(orderId);
+
+        assertEquals(orderId, detail.id());
+        assertEquals("PAID", detail.status());
+        assertEquals(orderDate, detail.orderDate());
+        assertEquals("iPhone", detail.items().getFirst().productName());
+    }
+
+    @DisplayName("JUnit test should throw NotFoundException when reading an unknown order")
+    @Test
+    void shouldThrowNotFound_WhenOrderDetailDoesNotExist() {
+        UUID orderId = UUID.randomUUID();
+        given(orderRepository.findHeaderById(orderId)).willReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> orderQueryService.findDetail(orderId));
+    }
+
+    private OrderSummaryResponseDTO summary(int day) {
+        return new OrderSummaryResponseDTO(UUID.randomUUID(), LocalDateTime.of(2024, 1, day, 10, 0), "PAID", BigDecimal.TEN, 1L);
+    }
+}
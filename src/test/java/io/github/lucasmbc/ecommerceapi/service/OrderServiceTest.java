@@ -1,8 +1,13 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
-import io.github.lucasmbc.ecommerceapi.domain.repository.CartRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.InsufficientStockException;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OrderEvents;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OutboxService;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,12 +17,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
@@ -26,39 +36,113 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private CartRepository cartRepository;
+    private CartService cartService;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
 
     @InjectMocks
     private OrderService orderService;
 
-    @DisplayName("JUnit test should create order from cart")
-    @Test
-    void shouldCreateOrderFromCart() {
-        Customer customer = new Customer();
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new Customer();
+        customer.setId(UUID.randomUUID());
         customer.setName("John Doe");
         customer.setEmail("johndoe@email.com");
         customer.setPassword("johndoe");
         customer.setCpf("1234567890");
+    }
 
-        Product product = new Product();
-        product.setName("iPhone");
-        product.setPrice(BigDecimal.TEN);
-        product.setStock(10);
-
-        CartItem cartItem = new CartItem();
-        cartItem.setProduct(product);
-        cartItem.setQuantity(2);
-        cartItem.setUnitPrice(BigDecimal.TEN);
-
-        Cart cart = new Cart();
-        cart.setItems(List.of(cartItem));
+    @DisplayName("JUnit test should create order from cart")
+    @Test
+    void shouldCreateOrderFromCart() {
+        Product product = createProduct("iPhone", 10);
+        Cart cart = createCart(createCartItem(product, 2));
 
-        given(cartRepository.findByCustomerId(customer.getId())).willReturn(Optional.of(cart));
+        given(cartService.materialize(customer.getId())).willReturn(cart);
+        given(productRepository.decrementStock(product.getId(), 2)).willReturn(1);
         given(orderRepository.save(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
 
         Order order = orderService.checkout(customer.getId());
 
         assertEquals(order.getTotal(), BigDecimal.valueOf(20));
+        verify(productCache).evictAfterCommit(List.of(product.getId()));
+        verify(outboxService).record(eq(OrderEvents.AGGREGATE_TYPE), eq(order.getId()), eq(OrderEvents.ORDER_CREATED),
+                any(OrderEvents.OrderCreated.class));
+        verify(readYourWrites).recordWrite(customer.getId(), order.getId());
+    }
+
+    @DisplayName("JUnit test should report every short line before reserving any stock")
+    @Test
+    void shouldReportShortagesWithoutReserving_WhenLoadedStockIsInsufficient() {
+        Product iphone = createProduct("iPhone", 1);
+        Product macbook = createProduct("MacBook", 0);
+        Product ipad = createProduct("iPad", 5);
+        Cart cart = createCart(createCartItem(iphone, 2), createCartItem(macbook, 1), createCartItem(ipad, 1));
+
+        given(cartService.materialize(customer.getId())).willReturn(cart);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> orderService.checkout(customer.getId()));
+
+        assertEquals(2, exception.getShortages().size());
+        verify(productRepository, never()).decrementStock(any(UUID.class), anyInt());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @DisplayName("JUnit test should fail checkout when a concurrent order took the stock")
+    @Test
+    void shouldFailCheckout_WhenConditionalReservationMisses() {
+        Product product = createProduct("iPhone", 2);
+        Cart cart = createCart(createCartItem(product, 2));
+
+        given(cartService.materialize(customer.getId())).willReturn(cart);
+        given(productRepository.decrementStock(product.getId(), 2)).willReturn(0);
+        given(productRepository.findStockById(product.getId())).willReturn(1);
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> orderService.checkout(customer.getId()));
+
+        assertEquals(1, exception.getShortages().getFirst().available());
+        assertEquals(2, exception.getShortages().getFirst().requested());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(productCache, never()).evictAfterCommit(anyList());
+        verify(outboxService, never()).record(any(), any(), any(), any());
     }
 
-}
\ No newline at end of file
+    private Cart createCart(CartItem... items) {
+        Cart cart = new Cart();
+        cart.setCustomer(customer);
+        cart.setItems(List.of(items));
+        return cart;
+    }
+
+    private CartItem createCartItem(Product product, Integer quantity) {
+        CartItem cartItem = new CartItem();
+        cartItem.setProduct(product);
+        cartItem.setQuantity(quantity);
+        cartItem.setUnitPrice(product.getPrice());
+        return cartItem;
+    }
+
+    private Product createProduct(String name, Integer stock) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        return product;
+    }
+}
@@ -3,20 +3,31 @@ package io.github.lucasmbc.ecommerceapi.service;
 import io.github.lucasmbc.ecommerceapi.domain.model.*;
 import io.github.lucasmbc.ecommerceapi.domain.repository.OrderRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.PaymentRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.BusinessException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ConflictException;
+import io.github.lucasmbc.ecommerceapi.service.exception.ServiceUnavailableException;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentGatewayGuard;
+import io.github.lucasmbc.ecommerceapi.service.payment.PaymentProcessor;
+import io.github.lucasmbc.ecommerceapi.service.support.ReadYourWrites;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.UUID;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceTest {
@@ -27,23 +38,101 @@ class PaymentServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private PaymentProcessor paymentProcessor;
+
+    @Mock
+    private PaymentGatewayGuard paymentGatewayGuard;
+
+    @Spy
+    private ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(10));
+
     @InjectMocks
     private PaymentService paymentService;
 
-    @DisplayName("JUnit test should pay order")
-    @Test
-    void shouldPayOrder() {
-        Order order = new Order();
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.PENDING);
         order.setTotal(BigDecimal.TEN);
 
+        given(paymentGatewayGuard.isAvailable()).willReturn(true);
+    }
+
+    @DisplayName("JUnit test should submit a pending payment for processing")
+    @Test
+    void shouldSubmitPendingPayment() {
+        UUID paymentId = UUID.randomUUID();
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+        given(paymentRepository.findByOrderId(order.getId())).willReturn(Optional.empty());
+        given(paymentRepository.save(any(Payment.class))).willAnswer(i -> {
+            Payment saved = i.getArgument(0);
+            saved.setId(paymentId);
+            return saved;
+        });
+
+        Payment payment = paymentService.pay(order.getId(), PaymentType.PIX);
+
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        assertEquals(BigDecimal.TEN, payment.getAmount());
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        verify(paymentProcessor).submit(paymentId);
+    }
+
+    @DisplayName("JUnit test should retry a refused payment on the same row")
+    @Test
+    void shouldReuseRefusedPayment() {
+        Payment refused = new Payment();
+        refused.setId(UUID.randomUUID());
+        refused.setOrder(order);
+        refused.setStatus(PaymentStatus.REFUSED);
+        refused.setPaymentType(PaymentType.CREDIT_CARD);
+
         given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
-        given(paymentRepository.save(any(Payment.class))).willAnswer(i -> i.getArgument(0));
+        given(paymentRepository.findByOrderId(order.getId())).willReturn(Optional.of(refused));
+        given(paymentRepository.save(refused)).willReturn(refused);
 
         Payment payment = paymentService.pay(order.getId(), PaymentType.PIX);
 
-        assertNotNull(payment);
-        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
-        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertSame(refused, payment);
+        assertEquals(PaymentStatus.PENDING, payment.getStatus());
+        assertEquals(PaymentType.PIX, payment.getPaymentType());
+        verify(paymentProcessor).submit(refused.getId());
+    }
+
+    @DisplayName("JUnit test should reject a second payment while one is processing")
+    @Test
+    void shouldThrowConflict_WhenPaymentIsPending() {
+        Payment pending = new Payment();
+        pending.setStatus(PaymentStatus.PENDING);
+
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+        given(paymentRepository.findByOrderId(order.getId())).willReturn(Optional.of(pending));
+
+        assertThrows(ConflictException.class, () -> paymentService.pay(order.getId(), PaymentType.PIX));
+        verify(paymentProcessor, never()).submit(any());
     }
 
-}
\ No newline at end of file
+    @DisplayName("JUnit test should reject payments for orders that are already paid")
+    @Test
+    void shouldThrowBusinessException_WhenOrderIsPaid() {
+        order.setStatus(OrderStatus.PAID);
+        given(orderRepository.findById(order.getId())).willReturn(Optional.of(order));
+
+        assertThrows(BusinessException.class, () -> paymentService.pay(order.getId(), PaymentType.PIX));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @DisplayName("JUnit test should fail fast while the payment gateway circuit is open")
+    @Test
+    void shouldThrowServiceUnavailable_WhenGatewayIsUnavailable() {
+        given(paymentGatewayGuard.isAvailable()).willReturn(false);
+
+        assertThrows(ServiceUnavailableException.class, () -> paymentService.pay(order.getId(), PaymentType.PIX));
+        verify(orderRepository, never()).findById(any());
+        verify(paymentProcessor, never()).submit(any());
+    }
+}
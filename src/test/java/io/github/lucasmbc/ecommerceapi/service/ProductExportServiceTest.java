@@ -0,0 +1,89 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductExportRepository productExportRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductExportService productExportService;
+
+    private ProductResponseDTO iphone;
+    private ProductResponseDTO macbook;
+
+    @BeforeEach
+    void setUp() {
+        productExportService = new ProductExportService(productExportRepository, objectMapper);
+        UUID categoryId = UUID.randomUUID();
+        iphone = new ProductResponseDTO(UUID.randomUUID(), "iPhone", "iPhone description", BigDecimal.valueOf(3000),
+                10, "https://placeimg.com/640/480", categoryId, "Electronics");
+        macbook = new ProductResponseDTO(UUID.randomUUID(), "MacBook", null, BigDecimal.valueOf(6500),
+                5, null, categoryId, "Electronics");
+    }
+
+    @DisplayName("JUnit test should write one JSON product per line and close the cursor")
+    @Test
+    void shouldWriteOneProductPerLine() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        given(productExportRepository.streamResponses()).willReturn(Stream.of(iphone, macbook).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = productExportService.export(out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals(objectMapper.writeValueAsString(iphone), lines[0]);
+        assertEquals(objectMapper.writeValueAsString(macbook), lines[1]);
+        assertTrue(closed.get());
+    }
+
+    @DisplayName("JUnit test should gzip the export when requested")
+    @Test
+    void shouldGzipExport() throws Exception {
+        given(productExportRepository.streamResponses()).willReturn(Stream.of(iphone));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExportService.export(out, true);
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(iphone, objectMapper.readValue(body.strip(), ProductResponseDTO.class));
+            assertTrue(body.endsWith("\n"));
+        }
+    }
+
+    @DisplayName("JUnit test should write an empty body when the catalog is empty")
+    @Test
+    void shouldWriteEmptyBody_WhenCatalogIsEmpty() throws Exception {
+        given(productExportRepository.streamResponses()).willReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, productExportService.export(out, false));
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.config.CacheConfig;
+import io.github.lucasmbc.ecommerceapi.controller.dto.request.ProductRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.model.Category;
+import io.github.lucasmbc.ecommerceapi.domain.model.Product;
+import io.github.lucasmbc.ecommerceapi.domain.repository.CategoryRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig
+class ProductServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, ProductService.class, ProductCache.class})
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE);
+        }
+    }
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private ProductSearchIndex productSearchIndex;
+
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product product;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).clear();
+
+        category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Electronics");
+
+        product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("iPhone");
+        product.setPrice(BigDecimal.valueOf(3000));
+        product.setStock(10);
+        product.setCategory(category);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated product lookups from the cache")
+    void findById_ShouldHitCache_OnRepeatedLookups() {
+        given(productRepository.findResponseById(product.getId())).willReturn(Optional.of(response(product)));
+
+        productService.findById(product.getId());
+        ProductResponseDTO cached = productService.findById(product.getId());
+
+        assertEquals("iPhone", cached.name());
+        verify(productRepository, times(1)).findResponseById(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should evict cached product when it is updated")
+    void update_ShouldEvictCachedProduct() {
+        given(productRepository.findResponseById(product.getId())).willReturn(Optional.of(response(product)));
+        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+        given(categoryRepository.findById(any(UUID.class))).willReturn(Optional.of(category));
+        given(productRepository.save(any(Product.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        productService.findById(product.getId());
+
+        ProductRequestDTO dto = new ProductRequestDTO();
+        dto.setName("iPhone 15");
+        dto.setPrice(BigDecimal.valueOf(3500));
+        dto.setStock(5);
+        dto.setCategoryId(category.getId());
+        productService.update(product.getId(), dto);
+
+        productService.findById(product.getId());
+
+        verify(productRepository, times(2)).findResponseById(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should evict cached product when it is deleted")
+    void delete_ShouldEvictCachedProduct() {
+        given(productRepository.findResponseById(product.getId())).willReturn(Optional.of(response(product)));
+        given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+
+        productService.findById(product.getId());
+        productService.delete(product.getId());
+        productService.findById(product.getId());
+
+        verify(productRepository, times(2)).findResponseById(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should drop every cached product when a category is renamed")
+    void evictAll_ShouldDropCachedProducts() {
+        given(productRepository.findResponseById(product.getId())).willReturn(Optional.of(response(product)));
+
+        productService.findById(product.getId());
+        productCache.evictAllAfterCommit();
+        productService.findById(product.getId());
+
+        verify(productRepository, times(2)).findResponseById(product.getId());
+    }
+
+    private ProductResponseDTO response(Product product) {
+        return new ProductResponseDTO(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getImageUrl(), category.getId(), category.getName());
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.lucasmbc.ecommerceapi.service;
+
+import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
+import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import io.github.lucasmbc.ecommerceapi.domain.repository.*;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ProductService.class, ProductSearchIndex.class, CatalogVersion.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceSearchIndexTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Electronics");
+        categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("iPhone");
+        product.setDescription("Apple smartphone");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(10);
+        product.setCategory(category);
+        productRepository.save(product);
+        productSearchIndex.index(ProductMapper.toResponse(product));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+        catalogVersionRepository.deleteAllInBatch();
+        productSearchIndex.remove(product.getId());
+    }
+
+    @DisplayName("JUnit test should keep a product searchable when its delete is rolled back")
+    @Test
+    void shouldKeepProductSearchable_WhenDeleteRollsBack() {
+        orderProduct();
+
+        assertThrows(DataAccessException.class, () -> productService.delete(product.getId()));
+
+        assertTrue(productRepository.existsById(product.getId()));
+        assertEquals(List.of(product.getId()), productSearchIndex.search("iphone", 10));
+    }
+
+    @DisplayName("JUnit test should remove a product from search once its delete commits")
+    @Test
+    void shouldRemoveProductFromSearch_WhenDeleteCommits() {
+        productService.delete(product.getId());
+
+        assertFalse(productRepository.existsById(product.getId()));
+        assertTrue(productSearchIndex.search("iphone", 10).isEmpty());
+    }
+
+    // An order line references the product, so deleting it fails on the foreign key when the transaction flushes.
+    private void orderProduct() {
+        Customer customer = new Customer();
+        customer.setName("teste");
+        customer.setEmail("teste@search.com");
+        customer.setPassword("123");
+        customer.setCpf("12345678910");
+        customerRepository.save(customer);
+
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(BigDecimal.TEN);
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setUnitPrice(BigDecimal.TEN);
+        order.setItems(List.of(item));
+        orderRepository.save(order);
+    }
+}
@@ -1,10 +1,17 @@
 package io.github.lucasmbc.ecommerceapi.service;
 
 import io.github.lucasmbc.ecommerceapi.controller.dto.request.ProductRequestDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.PageResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.mapper.ProductMapper;
 import io.github.lucasmbc.ecommerceapi.domain.model.Category;
 import io.github.lucasmbc.ecommerceapi.domain.model.Product;
 import io.github.lucasmbc.ecommerceapi.domain.repository.CategoryRepository;
 import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import io.github.lucasmbc.ecommerceapi.service.pagination.KeysetCursor;
+import io.github.lucasmbc.ecommerceapi.service.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,6 +28,8 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
@@ -35,6 +45,12 @@ class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private ProductService productService;
 
@@ -77,34 +93,101 @@ class ProductServiceTest {
         assertEquals(createdProduct.getPrice(), savedProduct.getPrice());
         assertEquals(createdProduct.getStock(), savedProduct.getStock());
         assertEquals(createdProduct.getCategory().getName(), savedProduct.getCategory().getName());
+        verify(productSearchIndex).index(any(ProductResponseDTO.class));
+        verify(catalogVersion).bump();
     }
 
     @Test
     @DisplayName("JUnit test should find product by id")
     void shouldFindProductById() {
-        given(productRepository.findById(savedProduct.getId())).willReturn(Optional.of(savedProduct));
+        given(productRepository.findResponseById(savedProduct.getId())).willReturn(Optional.of(ProductMapper.toResponse(savedProduct)));
 
-        Product foundProduct = productService.findById(savedProduct.getId());
+        ProductResponseDTO foundProduct = productService.findById(savedProduct.getId());
 
         assertNotNull(foundProduct);
-        assertEquals(foundProduct.getName(), savedProduct.getName());
+        assertEquals(foundProduct.name(), savedProduct.getName());
+        assertEquals(foundProduct.categoryName(), category.getName());
     }
 
     @Test
-    @DisplayName("JUnit test should find all products")
+    @DisplayName("JUnit test should find first page of products")
     void shouldFindAllProducts() {
-        Product newProduct = new Product();
-        newProduct.setName("MacBook");
-        newProduct.setDescription("MacBook description");
-        newProduct.setPrice(BigDecimal.valueOf(5000));
-        newProduct.setStock(5);
+        var products = List.of(createResponse("iPhone"), createResponse("MacBook"));
 
-        given(productRepository.findAll()).willReturn(List.of(savedProduct, newProduct));
+        given(productRepository.findResponses(Limit.of(21))).willReturn(products);
 
-        List<Product> foundProducts = productService.findAll();
+        PageResponseDTO<ProductResponseDTO> page = productService.findAll(null, null, null);
 
-        assertNotNull(foundProducts);
-        assertEquals(2, foundProducts.size());
+        assertNotNull(page);
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("JUnit test should return next cursor when there are more products")
+    void shouldReturnNextCursor_WhenMoreProductsExist() {
+        var first = createResponse("iPhone");
+        var second = createResponse("MacBook");
+
+        given(productRepository.findResponses(Limit.of(2))).willReturn(List.of(first, second));
+
+        PageResponseDTO<ProductResponseDTO> page = productService.findAll(null, null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(KeysetCursor.encode(first.id()), page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("JUnit test should continue listing after cursor")
+    void shouldFindProductsAfterCursor() {
+        UUID lastSeen = UUID.randomUUID();
+
+        given(productRepository.findResponsesAfter(lastSeen, Limit.of(21))).willReturn(List.of(createResponse("iPhone")));
+
+        PageResponseDTO<ProductResponseDTO> page = productService.findAll(null, KeysetCursor.encode(lastSeen), 20);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("JUnit test should list products of a category")
+    void shouldFindProductsByCategory() {
+        given(productRepository.findResponsesByCategoryId(category.getId(), Limit.of(21))).willReturn(List.of(createResponse("iPhone")));
+
+        PageResponseDTO<ProductResponseDTO> page = productService.findAll(category.getId(), null, null);
+
+        assertEquals(1, page.items().size());
+        assertEquals(category.getId(), page.items().getFirst().categoryId());
+    }
+
+    @Test
+    @DisplayName("JUnit test should reject malformed cursor")
+    void shouldThrowCustomBadRequestException_WhenCursorIsInvalid() {
+        assertThrows(CustomBadRequestException.class, () -> productService.findAll(null, "not-a-cursor", 20));
+    }
+
+    @Test
+    @DisplayName("JUnit test should return search results in relevance order")
+    void shouldSearchProductsInRelevanceOrder() {
+        var best = createResponse("iPhone");
+        var second = createResponse("iPhone case");
+
+        given(productSearchIndex.search("iphone", 20)).willReturn(List.of(best.id(), second.id()));
+        given(productRepository.findResponsesByIdIn(List.of(best.id(), second.id()))).willReturn(List.of(second, best));
+
+        List<ProductResponseDTO> results = productService.search("iphone", null);
+
+        assertEquals(List.of(best, second), results);
+    }
+
+    @Test
+    @DisplayName("JUnit test should cap the number of suggestions")
+    void shouldCapSuggestionCount() {
+        var suggestion = new ProductSuggestionResponseDTO(UUID.randomUUID(), "iPhone");
+        given(productSearchIndex.suggest("iph", 20)).willReturn(List.of(suggestion));
+
+        assertEquals(List.of(suggestion), productService.suggest("iph", 500));
     }
 
     @Test
@@ -138,5 +221,10 @@ class ProductServiceTest {
         productService.delete(savedProduct.getId());
 
         verify(productRepository, times(1)).deleteById(savedProduct.getId());
+        verify(productSearchIndex).remove(savedProduct.getId());
+    }
+
+    private ProductResponseDTO createResponse(String name) {
+        return new ProductResponseDTO(UUID.randomUUID(), name, null, BigDecimal.TEN, 1, null, category.getId(), category.getName());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal RESP2 server covering the hash, expiry and connection commands the cart store uses.
+ * Commands run one at a time under a single lock, which gives them the same atomicity as Redis.
+ */
+class FakeRedisServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Map<String, String>> hashes = new HashMap<>();
+    private final Map<String, Long> expiries = new HashMap<>();
+
+    FakeRedisServer() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        executor.execute(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    synchronized Long expiryMillis(String key) {
+        return expiries.get(key);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException ex) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket; InputStream in = new BufferedInputStream(socket.getInputStream()); OutputStream out = socket.getOutputStream()) {
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                out.write(execute(command).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private synchronized String execute(List<String> command) {
+        String name = command.getFirst().toUpperCase();
+        return switch (name) {
+            case "PING" -> "+PONG\r\n";
+            case "CLIENT", "SELECT" -> "+OK\r\n";
+            case "HSETNX" -> {
+                Map<String, String> hash = hashes.computeIfAbsent(command.get(1), key -> new HashMap<>());
+                yield integer(hash.putIfAbsent(command.get(2), command.get(3)) == null ? 1 : 0);
+            }
+            case "HINCRBY" -> {
+                Map<String, String> hash = hashes.computeIfAbsent(command.get(1), key -> new HashMap<>());
+                long value = Long.parseLong(hash.getOrDefault(command.get(2), "0")) + Long.parseLong(command.get(3));
+                hash.put(command.get(2), Long.toString(value));
+                yield integer(value);
+            }
+            case "HGETALL" -> {
+                Map<String, String> hash = hashes.getOrDefault(command.get(1), Map.of());
+                StringBuilder reply = new StringBuilder("*").append(hash.size() * 2).append("\r\n");
+                hash.forEach((field, value) -> reply.append(bulk(field)).append(bulk(value)));
+                yield reply.toString();
+            }
+            case "EXPIRE", "PEXPIRE" -> {
+                if (!hashes.containsKey(command.get(1))) {
+                    yield integer(0);
+                }
+                long amount = Long.parseLong(command.get(2));
+                expiries.put(command.get(1), name.equals("EXPIRE") ? amount * 1000 : amount);
+                yield integer(1);
+            }
+            case "DEL" -> {
+                int removed = 0;
+                for (String key : command.subList(1, command.size())) {
+                    expiries.remove(key);
+                    removed += hashes.remove(key) == null ? 0 : 1;
+                }
+                yield integer(removed);
+            }
+            default -> "-ERR unknown command '" + name + "'\r\n";
+        };
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] data = in.readNBytes(length);
+            in.readNBytes(2);
+            parts.add(new String(data, StandardCharsets.UTF_8));
+        }
+        return parts;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return null;
+    }
+
+    private static String integer(long value) {
+        return ":" + value + "\r\n";
+    }
+
+    private static String bulk(String value) {
+        return "$" + value.getBytes(StandardCharsets.UTF_8).length + "\r\n" + value + "\r\n";
+    }
+}
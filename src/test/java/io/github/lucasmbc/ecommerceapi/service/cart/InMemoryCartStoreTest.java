@@ -0,0 +1,70 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryCartStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final InMemoryCartStore store = new InMemoryCartStore(Duration.ofHours(1), 1000, nanos::get, Clock.systemUTC());
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should accumulate quantities and keep the first unit price")
+    void addLine_ShouldAccumulateQuantity() {
+        store.addLine(customerId, productId, 2, BigDecimal.TEN);
+        store.addLine(customerId, productId, 3, BigDecimal.ONE);
+
+        StoredCart cart = store.find(customerId).orElseThrow();
+
+        assertEquals(1, cart.lines().size());
+        assertEquals(5, cart.lines().getFirst().quantity());
+        assertEquals(BigDecimal.TEN, cart.lines().getFirst().unitPrice());
+    }
+
+    @Test
+    @DisplayName("Should not lose increments under concurrent adds")
+    void addLine_ShouldBeAtomic() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.execute(() -> store.addLine(customerId, productId, 1, BigDecimal.TEN));
+            }
+        }
+
+        assertEquals(1000, store.find(customerId).orElseThrow().lines().getFirst().quantity());
+    }
+
+    @Test
+    @DisplayName("Should evict carts that were not touched within the TTL")
+    void find_ShouldExpireAbandonedCarts() {
+        store.addLine(customerId, productId, 1, BigDecimal.TEN);
+
+        nanos.addAndGet(Duration.ofMinutes(59).toNanos());
+        assertTrue(store.find(customerId).isPresent());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        assertTrue(store.find(customerId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should remove the cart")
+    void remove_ShouldDropCart() {
+        store.addLine(customerId, productId, 1, BigDecimal.TEN);
+
+        store.remove(customerId);
+
+        assertTrue(store.find(customerId).isEmpty());
+    }
+}
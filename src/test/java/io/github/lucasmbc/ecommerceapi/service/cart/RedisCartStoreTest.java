@@ -0,0 +1,88 @@
+package io.github.lucasmbc.ecommerceapi.service.cart;
+
+import io.github.lucasmbc.ecommerceapi.config.CartStoreConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCartStoreTest {
+
+    private FakeRedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisCartStore store;
+
+    private final UUID customerId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new FakeRedisServer();
+        connectionFactory = CartStoreConfig.redisConnectionFactory("localhost", server.port());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        store = new RedisCartStore(new StringRedisTemplate(connectionFactory), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should accumulate quantities and keep the first unit price")
+    void addLine_ShouldAccumulateQuantity() {
+        store.addLine(customerId, productId, 2, new BigDecimal("19.90"));
+        store.addLine(customerId, productId, 3, new BigDecimal("29.90"));
+
+        StoredCart cart = store.find(customerId).orElseThrow();
+
+        assertEquals(1, cart.lines().size());
+        assertEquals(5, cart.lines().getFirst().quantity());
+        assertEquals(new BigDecimal("19.90"), cart.lines().getFirst().unitPrice());
+        assertNotNull(cart.createdAt());
+    }
+
+    @Test
+    @DisplayName("Should refresh the cart expiry on every write")
+    void addLine_ShouldSetExpiry() {
+        store.addLine(customerId, productId, 1, BigDecimal.TEN);
+
+        assertEquals(Duration.ofDays(7).toMillis(), server.expiryMillis("cart:" + customerId));
+    }
+
+    @Test
+    @DisplayName("Should not lose increments under concurrent adds")
+    void addLine_ShouldBeAtomic() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 500; i++) {
+                executor.execute(() -> store.addLine(customerId, productId, 1, BigDecimal.TEN));
+            }
+        }
+
+        assertEquals(500, store.find(customerId).orElseThrow().lines().getFirst().quantity());
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown carts and after removal")
+    void find_ShouldReturnEmpty_WhenCartMissingOrRemoved() {
+        assertTrue(store.find(customerId).isEmpty());
+
+        store.addLine(customerId, productId, 1, BigDecimal.TEN);
+        store.remove(customerId);
+
+        assertTrue(store.find(customerId).isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.lucasmbc.ecommerceapi.service.outbox;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.OutboxEvent;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxService outboxService;
+    private TransactionTemplate transactionTemplate;
+    private InMemoryOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        sink = new InMemoryOutboxSink(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test should publish every pending event in batches and mark them published")
+    @Test
+    void shouldPublishPendingEventsInBatches() {
+        List<UUID> orderIds = recordOrders(5);
+
+        relay(sink, 2).relay();
+
+        List<OutboxMessage> published = sink.drain();
+        assertEquals(Set.copyOf(orderIds), published.stream().map(OutboxMessage::aggregateId).collect(Collectors.toSet()));
+        assertTrue(published.stream().allMatch(message -> message.payload().contains("\"orderId\":\"" + message.aggregateId() + "\"")));
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() != null));
+
+        relay(sink, 2).relay();
+        assertTrue(sink.drain().isEmpty());
+    }
+
+    @DisplayName("JUnit test should deliver the batch again when the sink fails")
+    @Test
+    void shouldRedeliver_WhenSinkFails() {
+        recordOrders(3);
+        AtomicBoolean failing = new AtomicBoolean(true);
+        OutboxSink flaky = messages -> {
+            if (failing.get()) {
+                throw new IllegalStateException("broker down");
+            }
+            sink.publish(messages);
+        };
+
+        relay(flaky, 10).relay();
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getPublishedAt() == null));
+
+        failing.set(false);
+        relay(flaky, 10).relay();
+        assertEquals(3, sink.drain().size());
+    }
+
+    @DisplayName("JUnit test should not keep events whose transaction rolled back")
+    @Test
+    void shouldDropEvent_WhenTransactionRollsBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            record(UUID.randomUUID());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @DisplayName("JUnit test should purge published events past the retention")
+    @Test
+    void shouldPurgePublishedEvents() {
+        recordOrders(1);
+        relay(sink, 10).relay();
+        OutboxEvent event = outboxEventRepository.findAll().getFirst();
+        event.setPublishedAt(LocalDateTime.now().minusDays(8));
+        outboxEventRepository.save(event);
+
+        relay(sink, 10).purgePublished();
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private List<UUID> recordOrders(int count) {
+        List<UUID> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID orderId = UUID.randomUUID();
+            transactionTemplate.executeWithoutResult(status -> record(orderId));
+            orderIds.add(orderId);
+        }
+        return orderIds;
+    }
+
+    private void record(UUID orderId) {
+        outboxService.record(OrderEvents.AGGREGATE_TYPE, orderId, OrderEvents.ORDER_CREATED,
+                new OrderEvents.OrderCreated(orderId, UUID.randomUUID(), BigDecimal.TEN, 1, LocalDateTime.now()));
+    }
+
+    private OutboxRelay relay(OutboxSink target, int batchSize) {
+        return new OutboxRelay(outboxEventRepository, target, transactionManager, batchSize, 10, Duration.ofDays(7));
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import io.github.lucasmbc.ecommerceapi.config.PaymentConfig;
+import io.github.lucasmbc.ecommerceapi.domain.model.PaymentType;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentGatewayGuardTest {
+
+    private static final PaymentAuthorization AUTHORIZATION =
+            new PaymentAuthorization(UUID.randomUUID(), UUID.randomUUID(), PaymentType.PIX, BigDecimal.TEN);
+
+    private PaymentGatewayGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.close();
+        }
+    }
+
+    @DisplayName("JUnit test should open the circuit after repeated failures and stop calling the gateway")
+    @Test
+    void shouldFailFast_WhenCircuitOpens() {
+        AtomicInteger calls = new AtomicInteger();
+        guard = guard(authorization -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("acquirer down");
+        }, Duration.ofSeconds(1), 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GatewayUnavailableException.class, () -> guard.authorize(AUTHORIZATION));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+        assertFalse(guard.isAvailable());
+        GatewayUnavailableException ex = assertThrows(GatewayUnavailableException.class, () -> guard.authorize(AUTHORIZATION));
+        assertEquals("Payment gateway circuit is open", ex.getMessage());
+        assertEquals(4, calls.get());
+    }
+
+    @DisplayName("JUnit test should abandon gateway calls that exceed the timeout")
+    @Test
+    void shouldTimeOut_WhenGatewayIsSlow() {
+        guard = guard(new FaultInjectingPaymentGateway(authorization -> GatewayResult.approve(), 0, 1, Duration.ofSeconds(10)),
+                Duration.ofMillis(100), 4);
+
+        long start = System.nanoTime();
+        GatewayUnavailableException ex = assertThrows(GatewayUnavailableException.class, () -> guard.authorize(AUTHORIZATION));
+
+        assertEquals("Payment gateway timed out", ex.getMessage());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+    }
+
+    @DisplayName("JUnit test should not count refusals as gateway failures")
+    @Test
+    void shouldKeepCircuitClosed_WhenGatewayRefuses() {
+        guard = guard(authorization -> GatewayResult.refuse("Insufficient funds"), Duration.ofSeconds(1), 4);
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(guard.authorize(AUTHORIZATION).approved());
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    @DisplayName("JUnit test should reject calls beyond the bulkhead limit without opening the circuit")
+    @Test
+    void shouldRejectCall_WhenBulkheadIsFull() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        guard = PaymentConfig.createPaymentGatewayGuard(authorization -> {
+            entered.countDown();
+            await(release);
+            return GatewayResult.approve();
+        }, Duration.ofSeconds(5), 1, 50, 4, 1, Duration.ofMinutes(1));
+
+        try (ExecutorService caller = Executors.newSingleThreadExecutor()) {
+            Future<GatewayResult> first = caller.submit(() -> guard.authorize(AUTHORIZATION));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            GatewayUnavailableException ex = assertThrows(GatewayUnavailableException.class, () -> guard.authorize(AUTHORIZATION));
+            assertEquals("Too many concurrent payment gateway calls", ex.getMessage());
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS).approved());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+    }
+
+    private PaymentGatewayGuard guard(PaymentGateway gateway, Duration timeout, int minimumCalls) {
+        return PaymentConfig.createPaymentGatewayGuard(gateway, timeout, 4, 50, minimumCalls, minimumCalls, Duration.ofMinutes(1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.lucasmbc.ecommerceapi.service.payment;
+
+import io.github.lucasmbc.ecommerceapi.domain.model.*;
+import io.github.lucasmbc.ecommerceapi.domain.repository.PaymentRepository;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OrderEvents;
+import io.github.lucasmbc.ecommerceapi.service.outbox.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+
+    @Mock
+    private PaymentGatewayGuard gateway;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotal(BigDecimal.TEN);
+
+        payment = new Payment();
+        payment.setId(UUID.randomUUID());
+        payment.setOrder(order);
+        payment.setPaymentType(PaymentType.PIX);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setAmount(order.getTotal());
+        payment.setPaymentDate(LocalDateTime.now());
+    }
+
+    @DisplayName("JUnit test should approve the payment and mark the order as paid")
+    @Test
+    void shouldApprovePaymentAndPayOrder() {
+        givenClaimSucceeds();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        given(paymentRepository.findByIdForUpdate(payment.getId())).willReturn(Optional.of(payment));
+        given(gateway.authorize(any(PaymentAuthorization.class))).willReturn(GatewayResult.approve());
+
+        processor(Runnable::run).submit(payment.getId());
+
+        assertEquals(PaymentStatus.APPROVED, payment.getStatus());
+        assertEquals(OrderStatus.PAID, payment.getOrder().getStatus());
+        verify(paymentRepository).save(payment);
+        verify(outboxService).record(eq(OrderEvents.AGGREGATE_TYPE), eq(payment.getOrder().getId()), eq(OrderEvents.ORDER_PAID),
+                any(OrderEvents.OrderPaid.class));
+    }
+
+    @DisplayName("JUnit test should refuse the payment and keep the order awaiting payment")
+    @Test
+    void shouldRefusePayment() {
+        givenClaimSucceeds();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        given(paymentRepository.findByIdForUpdate(payment.getId())).willReturn(Optional.of(payment));
+        given(gateway.authorize(any(PaymentAuthorization.class))).willReturn(GatewayResult.refuse("Insufficient funds"));
+
+        processor(Runnable::run).submit(payment.getId());
+
+        assertEquals(PaymentStatus.REFUSED, payment.getStatus());
+        assertEquals(OrderStatus.PENDING, payment.getOrder().getStatus());
+        verify(outboxService).record(eq(OrderEvents.AGGREGATE_TYPE), eq(payment.getOrder().getId()), eq(OrderEvents.PAYMENT_REFUSED),
+                any(OrderEvents.PaymentRefused.class));
+    }
+
+    @DisplayName("JUnit test should keep the claim when the gateway call may have reached the acquirer")
+    @Test
+    void shouldKeepClaim_WhenGatewayTimesOut() {
+        givenClaimSucceeds();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        given(gateway.authorize(any(PaymentAuthorization.class))).willThrow(new GatewayUnavailableException("Payment gateway timed out"));
+
+        processor(Runnable::run).submit(payment.getId());
+
+        assertEquals(PaymentStatus.PROCESSING, payment.getStatus());
+        verify(paymentRepository, never()).release(any(UUID.class), any(LocalDateTime.class));
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @DisplayName("JUnit test should release the claim when the gateway call never reached the acquirer")
+    @Test
+    void shouldReleaseClaim_WhenCircuitIsOpen() {
+        givenClaimSucceeds();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        given(gateway.authorize(any(PaymentAuthorization.class)))
+                .willThrow(new GatewayUnavailableException("Payment gateway circuit is open", null, false));
+
+        processor(Runnable::run).submit(payment.getId());
+
+        verify(paymentRepository).release(payment.getId(), payment.getClaimedAt());
+        verify(paymentRepository, never()).save(any(Payment.class));
+    }
+
+    @DisplayName("JUnit test should not call the gateway for payments another worker claimed or completed")
+    @Test
+    void shouldSkipPayment_WhenClaimFails() {
+        processor(Runnable::run).submit(payment.getId());
+
+        verify(gateway, never()).authorize(any());
+        verify(paymentRepository, never()).findById(any(UUID.class));
+    }
+
+    @DisplayName("JUnit test should not complete a payment twice when a worker that took over the claim finished first")
+    @Test
+    void shouldNotCompleteTwice_WhenAnotherWorkerCompletedThePayment() {
+        givenClaimSucceeds();
+        given(paymentRepository.findById(payment.getId())).willReturn(Optional.of(payment));
+        given(gateway.authorize(any(PaymentAuthorization.class))).willAnswer(invocation -> {
+            payment.setStatus(PaymentStatus.APPROVED);
+            return GatewayResult.approve();
+        });
+        given(paymentRepository.findByIdForUpdate(payment.getId())).willReturn(Optional.of(payment));
+
+        processor(Runnable::run).submit(payment.getId());
+
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verify(outboxService, never()).record(any(), any(), any(), any());
+    }
+
+    @DisplayName("JUnit test should queue a payment only once while it is in flight")
+    @Test
+    void shouldSubmitOnce_WhenPaymentIsAlreadyQueued() {
+        PaymentProcessor processor = processor(queued::add);
+
+        processor.submit(payment.getId());
+        processor.submit(payment.getId());
+
+        assertEquals(1, queued.size());
+    }
+
+    @DisplayName("JUnit test should let the sweeper resubmit a payment the full queue rejected")
+    @Test
+    void shouldResubmitStalePayment_WhenQueueRejectedIt() {
+        AtomicBoolean full = new AtomicBoolean(true);
+        PaymentProcessor processor = processor(task -> {
+            if (full.get()) {
+                throw new RejectedExecutionException("full");
+            }
+            queued.add(task);
+        });
+        given(paymentRepository.findByStatusAndPaymentDateBefore(eq(PaymentStatus.PENDING), any(LocalDateTime.class), eq(Limit.of(100))))
+                .willReturn(List.of(payment));
+
+        processor.submit(payment.getId());
+        full.set(false);
+        processor.resubmitStale();
+
+        assertEquals(1, queued.size());
+    }
+
+    @DisplayName("JUnit test should let the sweeper resubmit a payment whose claim expired")
+    @Test
+    void shouldResubmitPayment_WhenClaimExpired() {
+        payment.setStatus(PaymentStatus.PROCESSING);
+        payment.setClaimedAt(LocalDateTime.now().minusMinutes(5));
+        given(paymentRepository.findByStatusAndClaimedAtBefore(eq(PaymentStatus.PROCESSING), any(LocalDateTime.class), eq(Limit.of(100))))
+                .willReturn(List.of(payment));
+
+        processor(queued::add).resubmitStale();
+
+        assertEquals(1, queued.size());
+    }
+
+    private void givenClaimSucceeds() {
+        given(paymentRepository.claim(eq(payment.getId()), any(LocalDateTime.class), any(LocalDateTime.class))).willAnswer(invocation -> {
+            payment.setStatus(PaymentStatus.PROCESSING);
+            payment.setClaimedAt(invocation.getArgument(1));
+            return 1;
+        });
+    }
+
+    private PaymentProcessor processor(Executor executor) {
+        return new PaymentProcessor(gateway, paymentRepository, outboxService, executor, transactionManager,
+                Duration.ofMinutes(1), Duration.ofMinutes(2));
+    }
+}
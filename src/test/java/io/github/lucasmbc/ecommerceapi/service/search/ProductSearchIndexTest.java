@@ -0,0 +1,197 @@
+package io.github.lucasmbc.ecommerceapi.service.search;
+
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductResponseDTO;
+import io.github.lucasmbc.ecommerceapi.controller.dto.response.ProductSuggestionResponseDTO;
+import io.github.lucasmbc.ecommerceapi.domain.repository.OrderItemRepository;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductOrderCount;
+import io.github.lucasmbc.ecommerceapi.domain.repository.ProductRepository;
+import io.github.lucasmbc.ecommerceapi.service.exception.CustomBadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private ProductSearchIndex index;
+
+    private final UUID categoryId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ProductSearchIndex(productRepository, orderItemRepository, "");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from every page of products")
+    void rebuild_ShouldIndexAllPages() {
+        var phone = product("iPhone 15", "Apple smartphone", "Phones");
+        var laptop = product("MacBook Air", "Apple laptop", "Computers");
+
+        given(productRepository.findResponses(any(Limit.class))).willReturn(List.of(phone));
+        given(productRepository.findResponsesAfter(phone.id(), Limit.of(1000))).willReturn(List.of(laptop));
+        given(productRepository.findResponsesAfter(laptop.id(), Limit.of(1000))).willReturn(List.of());
+
+        index.rebuild();
+
+        List<UUID> results = index.search("apple", 10);
+
+        assertEquals(2, results.size());
+        assertTrue(results.containsAll(List.of(phone.id(), laptop.id())));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void search_ShouldRankNameMatchesFirst() {
+        var caseForPhone = product("Silicone case", "Fits the iPhone 15", "Accessories");
+        var phone = product("iPhone 15", "Apple smartphone", "Phones");
+
+        index.index(caseForPhone);
+        index.index(phone);
+
+        assertEquals(List.of(phone.id(), caseForPhone.id()), index.search("iphone", 10));
+    }
+
+    @Test
+    @DisplayName("Should match category names and ignore accents and case")
+    void search_ShouldMatchCategoryIgnoringAccents() {
+        var camera = product("Canon R50", "Mirrorless", "Câmeras");
+
+        index.index(camera);
+
+        assertEquals(List.of(camera.id()), index.search("CAMERAS", 10));
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    void search_ShouldRequireAllTerms() {
+        var phone = product("iPhone 15", "Apple smartphone", "Phones");
+        var laptop = product("MacBook Air", "Apple laptop", "Computers");
+
+        index.index(phone);
+        index.index(laptop);
+
+        assertEquals(List.of(laptop.id()), index.search("apple laptop", 10));
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes immediately")
+    void index_ShouldReflectUpdatesAndDeletes() {
+        var phone = product("iPhone 15", "Apple smartphone", "Phones");
+        index.index(phone);
+
+        var renamed = new ProductResponseDTO(phone.id(), "Galaxy S24", "Samsung smartphone", BigDecimal.TEN, 1, null, categoryId, "Phones");
+        index.index(renamed);
+
+        assertTrue(index.search("iphone", 10).isEmpty());
+        assertEquals(List.of(phone.id()), index.search("galaxy", 10));
+
+        index.remove(phone.id());
+
+        assertTrue(index.search("galaxy", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should treat query syntax characters as plain text")
+    void search_ShouldEscapeQuerySyntax() {
+        var phone = product("iPhone 15", "Apple smartphone", "Phones");
+        index.index(phone);
+
+        assertEquals(List.of(phone.id()), index.search("iphone (15", 10));
+    }
+
+    @Test
+    @DisplayName("Should reject blank queries")
+    void search_ShouldRejectBlankQuery() {
+        assertThrows(CustomBadRequestException.class, () -> index.search("  ", 10));
+    }
+
+    @Test
+    @DisplayName("Should suggest names by prefix ordered by popularity")
+    void suggest_ShouldOrderByPopularity() {
+        var iphone = product("iPhone 15", "Apple smartphone", "Phones");
+        var ipad = product("iPad Air", "Apple tablet", "Tablets");
+        var macbook = product("MacBook Air", "Apple laptop", "Computers");
+
+        given(orderItemRepository.countOrdersByProductId(iphone.id())).willReturn(3L);
+        given(orderItemRepository.countOrdersByProductId(ipad.id())).willReturn(7L);
+
+        index.index(iphone);
+        index.index(ipad);
+        index.index(macbook);
+
+        List<ProductSuggestionResponseDTO> suggestions = index.suggest("IP", 10);
+
+        assertEquals(List.of(ipad.id(), iphone.id()), suggestions.stream().map(ProductSuggestionResponseDTO::id).toList());
+        assertEquals("iPad Air", suggestions.getFirst().name());
+    }
+
+    @Test
+    @DisplayName("Should match earlier words fully and only the last word as a prefix")
+    void suggest_ShouldMatchLastWordAsPrefix() {
+        var ipadAir = product("iPad Air", "Apple tablet", "Tablets");
+        var macbookAir = product("MacBook Air", "Apple laptop", "Computers");
+
+        index.index(ipadAir);
+        index.index(macbookAir);
+
+        assertEquals(List.of(macbookAir.id()), index.suggest("macbook a", 10).stream().map(ProductSuggestionResponseDTO::id).toList());
+        assertTrue(index.suggest("mac a", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reorder suggestions when popularity is refreshed")
+    void refreshPopularity_ShouldReorderSuggestions() {
+        var iphone = product("iPhone 15", "Apple smartphone", "Phones");
+        var ipad = product("iPad Air", "Apple tablet", "Tablets");
+
+        given(orderItemRepository.countOrdersByProductId(iphone.id())).willReturn(5L);
+
+        index.index(iphone);
+        index.index(ipad);
+
+        assertEquals(iphone.id(), index.suggest("i", 10).getFirst().id());
+
+        given(orderItemRepository.countOrdersByProduct())
+                .willReturn(List.of(new ProductOrderCount(iphone.id(), 5L), new ProductOrderCount(ipad.id(), 9L)));
+
+        index.refreshPopularity();
+
+        assertEquals(ipad.id(), index.suggest("i", 10).getFirst().id());
+    }
+
+    @Test
+    @DisplayName("Should reject blank suggestion prefixes")
+    void suggest_ShouldRejectBlankPrefix() {
+        assertThrows(CustomBadRequestException.class, () -> index.suggest(" ", 10));
+    }
+
+    private ProductResponseDTO product(String name, String description, String categoryName) {
+        return new ProductResponseDTO(UUID.randomUUID(), name, description, BigDecimal.TEN, 1, null, categoryId, categoryName);
+    }
+}